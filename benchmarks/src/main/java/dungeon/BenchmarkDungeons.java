@@ -0,0 +1,80 @@
+package dungeon;
+
+import randoms.RandomGenerator;
+
+/**
+ * Creates the dungeons measured by the benchmarks. The dungeons are generated from a seed so that
+ * every run of a benchmark measures the same dungeons, the seed is advanced when no start and end
+ * caves far enough apart are found. The class is kept package private as it will be used only
+ * by the benchmarks of the dungeon model package.
+ */
+final class BenchmarkDungeons {
+  private static final int MAX_ATTEMPTS = 100;
+
+  private BenchmarkDungeons() {
+  }
+
+  /**
+   * Gets the degree of interconnectivity used for a square dungeon of the given size, which adds
+   * as many extra paths as there are rows.
+   *
+   * @param size the no. of rows and columns of the dungeon
+   * @return the degree of interconnectivity
+   */
+  static int interconnectivity(int size) {
+    return size;
+  }
+
+  /**
+   * Gets the no. of otyughs placed in a square dungeon of the given size.
+   *
+   * @param size the no. of rows and columns of the dungeon
+   * @return the no. of otyughs
+   */
+  static int otyughs(int size) {
+    return 1 + size / 5;
+  }
+
+  /**
+   * Creates a square dungeon.
+   *
+   * @param size the no. of rows and columns of the dungeon
+   * @param wrap true if the dungeon wraps
+   * @param seed the seed from which the dungeon is generated
+   * @return the dungeon
+   */
+  static MasterDungeon create(int size, boolean wrap, long seed) {
+    for (int i = 0; i < MAX_ATTEMPTS; i++) {
+      try {
+        return new MasterDungeon(size, size, interconnectivity(size), wrap, 50,
+                new RandomGenerator(seed + i), otyughs(size));
+      } catch (IllegalStateException e) {
+        //the start and end caves were too close, try the next seed
+      }
+    }
+    throw new IllegalStateException("No dungeon could be generated from seed " + seed);
+  }
+
+  /**
+   * Creates a game in a square dungeon with the player already placed at the start cave.
+   *
+   * @param size the no. of rows and columns of the dungeon
+   * @param wrap true if the dungeon wraps
+   * @param seed the seed from which the dungeon is generated
+   * @return the game
+   */
+  static GameModel createGame(int size, boolean wrap, long seed) {
+    for (int i = 0; i < MAX_ATTEMPTS; i++) {
+      try {
+        GameModel g = new DungeonGame(size, size, interconnectivity(size), wrap, 50,
+                new RandomGenerator(seed + i), otyughs(size));
+        g.createPlayer();
+        g.addPlayerInDungeon();
+        return g;
+      } catch (IllegalStateException e) {
+        //the start and end caves were too close, try the next seed
+      }
+    }
+    throw new IllegalStateException("No game could be generated from seed " + seed);
+  }
+}
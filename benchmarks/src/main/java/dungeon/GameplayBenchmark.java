@@ -0,0 +1,154 @@
+package dungeon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-action calls of the dungeon and the game on dungeons of increasing size. The
+ * latency of the actions should stay flat as the dungeon grows, only the restart of a game
+ * copies the state of every location. The player walks the dungeon at random, the otyughs do not
+ * end the walk, and the walk is reset at the start of every iteration so that every iteration
+ * shoots at the same live otyughs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameplayBenchmark {
+  private static final long SEED = 42;
+  private static final Direction[] DIRECTIONS = GridTopology.DIRECTIONS;
+  private static final String[] DIRECTION_NAMES = {"N", "E", "S", "W"};
+
+  @Param({"10", "50", "200"})
+  private int size;
+
+  private MasterDungeon generated;
+  private MasterDungeon d;
+  private Player p;
+  private GameModel g;
+  private int random;
+
+  /**
+   * Generates the dungeon and the game measured by the benchmarks.
+   */
+  @Setup(Level.Trial)
+  public void generate() {
+    generated = BenchmarkDungeons.create(size, false, SEED);
+    g = BenchmarkDungeons.createGame(size, false, SEED);
+  }
+
+  /**
+   * Places a new player at the start cave of a fresh copy of the dungeon.
+   */
+  @Setup(Level.Iteration)
+  public void reset() {
+    d = new MasterDungeon(generated);
+    p = new MasterDungeonPlayer(0, 0, 0, -1, 3);
+    d.addPlayer(p);
+    random = (int) SEED;
+  }
+
+  /**
+   * Moves the player one step in a random open direction.
+   *
+   * @return the result of the move
+   */
+  @Benchmark
+  public int move() {
+    return d.move(p, nextOpenDirection(p.getLocation()));
+  }
+
+  /**
+   * Moves the player one step and shoots an arrow in a random open direction from the new
+   * location, the arrow is given back to the player so that the quiver never empties.
+   *
+   * @return the result of the shot
+   */
+  @Benchmark
+  public int shootArrow() {
+    d.move(p, nextOpenDirection(p.getLocation()));
+    int hit = d.shootArrow(p, nextOpenDirection(p.getLocation()), 1 + nextRandom(5));
+    p.addArrows(1);
+    return hit;
+  }
+
+  /**
+   * Moves the player one step and gets the smell at the new location.
+   *
+   * @return the smell at the location of the player
+   */
+  @Benchmark
+  public String getLocationSmell() {
+    d.move(p, nextOpenDirection(p.getLocation()));
+    return d.getLocationSmell(p.getLocation());
+  }
+
+  /**
+   * Restarts the game from its initial state and places a new player in it.
+   *
+   * @return the restarted game
+   */
+  @Benchmark
+  public GameModel refresh() {
+    g.refresh();
+    g.createPlayer();
+    g.addPlayerInDungeon();
+    return g;
+  }
+
+  /**
+   * Performs the calls the controller makes for one turn of the game: reading the counts, the
+   * smell and the type of the location, picking the arrows and moving on. The game is restarted
+   * when it is over.
+   *
+   * @param bh consumes the values read from the game
+   */
+  @Benchmark
+  public void actionMix(Blackhole bh) {
+    if (g.isGameOver()) {
+      g.refresh();
+      g.createPlayer();
+      g.addPlayerInDungeon();
+    }
+    String loc = g.getPlayerLocation();
+    bh.consume(g.getRubyCount(loc) + g.getDiamondCount(loc) + g.getSapphireCount(loc));
+    bh.consume(g.getLocationSmell(loc));
+    bh.consume(g.getLocationType(loc));
+    if (g.getArrowCount(loc) > 0) {
+      g.pickItemAtLocation("AllArrows", 0);
+    }
+    String dir = DIRECTION_NAMES[nextRandom(DIRECTION_NAMES.length)];
+    if (g.getNextPossibleMoves(loc).contains(dir)) {
+      g.movePlayerTo(dir);
+    }
+  }
+
+  private Direction nextOpenDirection(int cell) {
+    GridTopology topology = d.getTopology();
+    int first = nextRandom(DIRECTIONS.length);
+    for (int i = 0; i < DIRECTIONS.length; i++) {
+      Direction dir = DIRECTIONS[(first + i) % DIRECTIONS.length];
+      if (topology.getNext(cell, dir) != -1) {
+        return dir;
+      }
+    }
+    throw new IllegalStateException("Location has no open doors.");
+  }
+
+  //xorshift, cheaper than a randomizer and the same sequence on every run
+  private int nextRandom(int bound) {
+    random ^= random << 13;
+    random ^= random >>> 17;
+    random ^= random << 5;
+    return (random >>> 1) % bound;
+  }
+}
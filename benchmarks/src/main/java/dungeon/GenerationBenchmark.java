@@ -0,0 +1,39 @@
+package dungeon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of a dungeon, from carving the maze to placing the otyughs, treasure
+ * and arrows, for square grids of several sizes with and without wrapping. Every invocation
+ * generates a different dungeon from the next seed so that no single layout dominates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GenerationBenchmark {
+  @Param({"10", "50", "200"})
+  private int size;
+
+  @Param({"false", "true"})
+  private boolean wrap;
+
+  private long seed = 1;
+
+  /**
+   * Generates a dungeon.
+   *
+   * @return the generated dungeon
+   */
+  @Benchmark
+  public MasterDungeon createDungeon() {
+    return BenchmarkDungeons.create(size, wrap, seed++);
+  }
+}
@@ -0,0 +1,95 @@
+package dungeon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.awt.GraphicsEnvironment;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+
+/**
+ * Measures the refresh of the swing view after an action, which rebuilds the information panel
+ * and the tiles of every location of the dungeon on the event dispatch thread. The player first
+ * walks the dungeon so that most locations are visited and drawn. The view opens a window, so the
+ * benchmark needs a display and fails its setup when run headless.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SwingViewBenchmark {
+  private static final long SEED = 42;
+  private static final String[] DIRECTION_NAMES = {"N", "E", "S", "W"};
+
+  @Param({"10", "30"})
+  private int size;
+
+  private DungeonGameSwingView view;
+
+  /**
+   * Creates the view showing a game whose dungeon has been walked by the player.
+   *
+   * @throws Exception if the view could not be created on the event dispatch thread
+   */
+  @Setup(Level.Trial)
+  public void createView() throws Exception {
+    if (GraphicsEnvironment.isHeadless()) {
+      throw new IllegalStateException("The swing view benchmark needs a display.");
+    }
+    GameModel g = BenchmarkDungeons.createGame(size, false, SEED);
+    walk(g, size * size * 8);
+    SwingUtilities.invokeAndWait(() -> {
+      view = new DungeonGameSwingView();
+      view.row = new JSpinner(new SpinnerNumberModel(size, 3, 1000, 1));
+      view.col = new JSpinner(new SpinnerNumberModel(size, 3, 1000, 1));
+      view.setModel((GameModelReadOnly) g);
+    });
+  }
+
+  /**
+   * Disposes the window of the view.
+   *
+   * @throws Exception if the view could not be disposed on the event dispatch thread
+   */
+  @TearDown(Level.Trial)
+  public void disposeView() throws Exception {
+    if (view != null) {
+      SwingUtilities.invokeAndWait(() -> view.dispose());
+    }
+  }
+
+  /**
+   * Refreshes the view and waits for the refresh to finish.
+   *
+   * @throws InterruptedException      if interrupted while waiting for the refresh
+   * @throws InvocationTargetException if the refresh failed
+   */
+  @Benchmark
+  public void refresh() throws InterruptedException, InvocationTargetException {
+    SwingUtilities.invokeAndWait(() -> view.refresh(""));
+  }
+
+  private static void walk(GameModel g, int steps) {
+    int random = (int) SEED;
+    for (int i = 0; i < steps && !g.isGameOver(); i++) {
+      random ^= random << 13;
+      random ^= random >>> 17;
+      random ^= random << 5;
+      String dir = DIRECTION_NAMES[(random >>> 1) % DIRECTION_NAMES.length];
+      if (g.getNextPossibleMoves(g.getPlayerLocation()).contains(dir)) {
+        g.movePlayerTo(dir);
+      }
+    }
+  }
+}
@@ -1,5 +1,6 @@
 import dungeon.DungeonGame;
 import dungeon.DungeonGameConsoleController;
+import dungeon.DungeonGeneratorService;
 import dungeon.DungeonGameSwingController;
 import dungeon.DungeonGameSwingView;
 import dungeon.DungeonGameView;
@@ -10,6 +11,8 @@ import randoms.Randomizer;
 
 import java.io.InputStreamReader;
 
+import javax.swing.SwingUtilities;
+
 /**
  * The driver that will run the game using the controller.
  */
@@ -33,7 +36,12 @@ public class GameDriver {
   public static void main(String[] args) {
     if (args.length == 0) {
       DungeonGameView view = new DungeonGameSwingView();
-      GameControllerSwing controller = new DungeonGameSwingController(view);
+      //the dungeons are generated off the event dispatch thread and a spare dungeon with the
+      //last used parameters is kept ready for the next new game
+      DungeonGeneratorService generator = new DungeonGeneratorService(
+              Runtime.getRuntime().availableProcessors(), SwingUtilities::invokeLater);
+      generator.setSpeculative(true);
+      GameControllerSwing controller = new DungeonGameSwingController(view, generator);
       controller.setupViewListeners();
     } else {
       if (args.length < 6) {
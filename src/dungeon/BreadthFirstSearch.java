@@ -0,0 +1,87 @@
+package dungeon;
+
+import java.util.Arrays;
+
+/**
+ * Represents a reusable breadth first search over the paths of the dungeon. The queue is an int
+ * ring buffer and the distances are kept in an int array indexed by cell id, both of which are
+ * allocated once and reused for every search. A single search finds the distance of every
+ * location from the source, so all the locations can be checked against one source without
+ * searching again. The class is not thread safe and is kept package private as it will be used
+ * only within the dungeon model package.
+ */
+class BreadthFirstSearch {
+  static final int UNREACHABLE = -1;
+  private final CellGraph graph;
+  private final int[] queue;
+  private final int[] distances;
+
+  /**
+   * Creates the search for the given graph.
+   *
+   * @param graph the paths of the dungeon
+   */
+  BreadthFirstSearch(CellGraph graph) {
+    if (graph == null) {
+      throw new IllegalArgumentException("Graph cannot be null.");
+    }
+    this.graph = graph;
+    this.queue = new int[graph.getCellCount()];
+    this.distances = new int[graph.getCellCount()];
+  }
+
+  /**
+   * Finds the shortest distance of every location from the source. The returned array is reused
+   * by the next search, so it must be copied if it is needed after that.
+   *
+   * @param source the cell id of the source location
+   * @return the distances indexed by cell id, {@link #UNREACHABLE} for the locations that cannot
+   *         be reached from the source
+   */
+  int[] distancesFrom(int source) {
+    search(source, -1);
+    return distances;
+  }
+
+  /**
+   * Finds the shortest distance between the 2 locations. The search stops as soon as the target
+   * is reached.
+   *
+   * @param source the cell id of the source location
+   * @param target the cell id of the target location
+   * @return the distance between the locations, {@link #UNREACHABLE} if there is no path
+   */
+  int distance(int source, int target) {
+    search(source, target);
+    return distances[target];
+  }
+
+  private void search(int source, int target) {
+    if (source < 0 || source >= distances.length) {
+      throw new IllegalArgumentException("Source location does not exist in the dungeon.");
+    }
+    Arrays.fill(distances, UNREACHABLE);
+    distances[source] = 0;
+    queue[0] = source;
+    int head = 0;
+    int size = 1;
+    while (size > 0) {
+      int curr = queue[head];
+      head = head + 1 == queue.length ? 0 : head + 1;
+      size--;
+      if (curr == target) {
+        return;
+      }
+      int count = graph.getNeighbourCount(curr);
+      for (int k = 0; k < count; k++) {
+        int next = graph.getNeighbour(curr, k);
+        if (distances[next] == UNREACHABLE) {
+          distances[next] = distances[curr] + 1;
+          int tail = head + size;
+          queue[tail >= queue.length ? tail - queue.length : tail] = next;
+          size++;
+        }
+      }
+    }
+  }
+}
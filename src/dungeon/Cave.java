@@ -5,142 +5,80 @@ import randoms.Randomizer;
 /**
  * Represents a cave or tunnel in the dungeon. If the location has 2 entry points, then it is
  * classified as tunnel. A tunnel cannot have treasure, whereas a cave can contain treasure.
- * Each cave/tunnel maintains the directions which can be used to move to a neighbouring cave.
- * The class is kept package private as it will be used only within the dungeon model package.
+ * Each cave/tunnel maintains the items that can be picked up at that location. The items are
+ * stored in the state of the dungeon, a cave is only a view of one location of that state and
+ * can be created whenever it is needed. The class is kept package private as it will be used
+ * only within the dungeon model package.
  */
 class Cave {
-  private final boolean moveNorth;
-  private final boolean moveSouth;
-  private final boolean moveEast;
-  private final boolean moveWest;
-  private final String location;
-  private boolean isTunnel;
-  private int diamondCount;
-  private int sapphireCount;
-  private int rubyCount;
-  private int arrowCount;
+  private final DungeonState state;
+  private final int cell;
+  private final boolean isTunnel;
   private final int minArrowCount = 1;
   private final int maxArrowCount = 3;
-  Randomizer r;
 
   /**
-   * Creates a cave/tunnel and sets its initial values.
+   * Creates a view of the cave/tunnel at the given location. The doors of the location are
+   * maintained by the grid topology of the dungeon.
    *
-   * @param location  location of the cave in the dungeon
-   * @param moveNorth true if the door to north side is open, false if there is no door
-   * @param moveSouth true if the door to south side is open, false if there is no door
-   * @param moveEast  true if the door to east side is open, false if there is no door
-   * @param moveWest  true if the door to west side is open, false if there is no door
+   * @param state    the state of the dungeon holding the items of the location
+   * @param cell     cell id of the location of the cave in the dungeon
+   * @param isTunnel true if the location has exactly 2 doors
    */
-  Cave(String location, boolean moveNorth, boolean moveSouth, boolean moveEast,
-       boolean moveWest, Randomizer r) {
-    this.r = r;
-    this.location = location;
-    this.moveNorth = moveNorth;
-    this.moveSouth = moveSouth;
-    this.moveEast = moveEast;
-    this.moveWest = moveWest;
-    setIsTunnel();
-  }
-
-  Cave(Cave copy) {
-    this.moveNorth = copy.moveNorth;
-    this.moveSouth = copy.moveSouth;
-    this.moveEast = copy.moveEast;
-    this.moveWest = copy.moveWest;
-    this.location = copy.location;
-    this.isTunnel = copy.isTunnel;
-    this.diamondCount = copy.diamondCount;
-    this.sapphireCount = copy.sapphireCount;
-    this.rubyCount = copy.rubyCount;
-    this.arrowCount = copy.arrowCount;
-  }
-
-  private void setIsTunnel() {
-    int openDoorCounter = 0;
-    if (moveNorth) {
-      openDoorCounter++;
-    }
-    if (moveSouth) {
-      openDoorCounter++;
-    }
-    if (moveEast) {
-      openDoorCounter++;
-    }
-    if (moveWest) {
-      openDoorCounter++;
-    }
-    if (openDoorCounter == 2) {
-      isTunnel = true;
-    } else {
-      isTunnel = false;
-    }
-  }
-
-  protected boolean isMoveNorth() {
-    return moveNorth;
-  }
-
-  protected boolean isMoveSouth() {
-    return moveSouth;
-  }
-
-  protected boolean isMoveEast() {
-    return moveEast;
-  }
-
-  protected boolean isMoveWest() {
-    return moveWest;
+  Cave(DungeonState state, int cell, boolean isTunnel) {
+    this.state = state;
+    this.cell = cell;
+    this.isTunnel = isTunnel;
   }
 
   protected boolean isTunnel() {
     return isTunnel;
   }
 
-  protected void assignInitialTreasure() {
-    this.diamondCount = Treasure.DIAMONDS.getRandomQuantity(r);
-    this.sapphireCount = Treasure.SAPPHIRES.getRandomQuantity(r);
-    this.rubyCount = Treasure.RUBIES.getRandomQuantity(r);
+  protected void assignInitialTreasure(Randomizer r) {
+    int diamondCount = Treasure.DIAMONDS.getRandomQuantity(r);
+    int sapphireCount = Treasure.SAPPHIRES.getRandomQuantity(r);
+    int rubyCount = Treasure.RUBIES.getRandomQuantity(r);
+    state.setTreasure(cell, diamondCount, sapphireCount, rubyCount);
   }
 
-  protected void assignInitialArrows() {
-    this.arrowCount = r.getRandomInt(minArrowCount, maxArrowCount);
+  protected void assignInitialArrows(Randomizer r) {
+    state.setArrowCount(cell, r.getRandomInt(minArrowCount, maxArrowCount));
   }
 
   protected void updatePickedRubyStatus(int count) {
-    this.rubyCount = this.rubyCount - count;
+    state.removeRubies(cell, count);
   }
 
   protected void updatePickedDiamondStatus(int count) {
-    this.diamondCount = this.getDiamondCount() - count;
+    state.removeDiamonds(cell, count);
   }
 
   protected void updatePickedSapphireStatus(int count) {
-    this.sapphireCount = this.sapphireCount - count;
+    state.removeSapphires(cell, count);
   }
 
   protected void updatePickedArrowStatus(int count) {
-    this.arrowCount = this.arrowCount - count;
+    state.removeArrows(cell, count);
   }
 
   protected int getDiamondCount() {
-    return this.diamondCount;
+    return state.getDiamondCount(cell);
   }
 
   protected int getSapphireCount() {
-    return this.sapphireCount;
+    return state.getSapphireCount(cell);
   }
 
   protected int getRubyCount() {
-    return this.rubyCount;
+    return state.getRubyCount(cell);
   }
 
   protected int getArrowCount() {
-    return this.arrowCount;
+    return state.getArrowCount(cell);
   }
 
-  protected String getLocation() {
-    return location;
+  protected int getLocation() {
+    return cell;
   }
 }
-
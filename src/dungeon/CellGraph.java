@@ -0,0 +1,90 @@
+package dungeon;
+
+import java.util.List;
+
+/**
+ * Represents the paths of the dungeon as an adjacency list over the cell ids of the grid. The
+ * neighbours of all the cells are packed into a single int array, with an offset array marking
+ * where the neighbours of each cell begin. The neighbours of a cell are kept in the same order
+ * as the edges that join them appear in the list of edges of the dungeon. The graph is immutable
+ * once created. The class is kept package private as it will be used only within the dungeon
+ * model package.
+ */
+class CellGraph {
+  private final int[] offsets;
+  private final int[] neighbours;
+
+  /**
+   * Creates the graph for the given edges.
+   *
+   * @param cellCount the no. of cells in the dungeon grid
+   * @param edges     the paths of the dungeon
+   */
+  CellGraph(int cellCount, List<Edge> edges) {
+    this(cellCount, toEnds(edges));
+  }
+
+  /**
+   * Creates the graph for the edges given as the pairs of cells they join, so that a graph can
+   * be created without the edge objects.
+   *
+   * @param cellCount the no. of cells in the dungeon grid
+   * @param ends      the cell ids of the ends of every edge, 2 entries per edge
+   */
+  CellGraph(int cellCount, int[] ends) {
+    if (cellCount < 0) {
+      throw new IllegalArgumentException("Cell count cannot be negative.");
+    }
+    if (ends == null || ends.length % 2 != 0) {
+      throw new IllegalArgumentException("Edges must have 2 ends.");
+    }
+    //count the neighbours of every cell
+    offsets = new int[cellCount + 1];
+    for (int end : ends) {
+      offsets[end + 1]++;
+    }
+    for (int cell = 0; cell < cellCount; cell++) {
+      offsets[cell + 1] += offsets[cell];
+    }
+    //fill the neighbours in the order of the edges
+    neighbours = new int[offsets[cellCount]];
+    int[] next = new int[cellCount];
+    System.arraycopy(offsets, 0, next, 0, cellCount);
+    for (int i = 0; i < ends.length; i += 2) {
+      neighbours[next[ends[i]]++] = ends[i + 1];
+      neighbours[next[ends[i + 1]]++] = ends[i];
+    }
+  }
+
+  private static int[] toEnds(List<Edge> edges) {
+    if (edges == null) {
+      throw new IllegalArgumentException("Edges cannot be null.");
+    }
+    int[] ends = new int[edges.size() * 2];
+    int i = 0;
+    for (Edge e : edges) {
+      ends[i++] = e.getP1();
+      ends[i++] = e.getP2();
+    }
+    return ends;
+  }
+
+  int getCellCount() {
+    return offsets.length - 1;
+  }
+
+  int getNeighbourCount(int cell) {
+    return offsets[cell + 1] - offsets[cell];
+  }
+
+  /**
+   * Gets the neighbour of the cell at the given index.
+   *
+   * @param cell  the cell id
+   * @param index the index of the neighbour, from 0 to the neighbour count of the cell
+   * @return the cell id of the neighbour
+   */
+  int getNeighbour(int cell, int index) {
+    return neighbours[offsets[cell] + index];
+  }
+}
@@ -0,0 +1,53 @@
+package dungeon;
+
+import java.nio.file.Path;
+
+/**
+ * Represents where the door masks and item counts of the locations of a dungeon are kept: on the
+ * heap, which is the default, or in memory mapped temporary files. The mapped storage moves only
+ * these 5 bytes per location off the heap. The paths of the dungeon, the structures used while
+ * it is generated, the distances, the otyughs and their smell stay on the heap and need most of
+ * it, so the mapped storage does not let a dungeon larger than the heap be played. The class is
+ * kept package private as it will be used only within the dungeon model package.
+ */
+final class CellStorage {
+  private static final CellStorage HEAP = new CellStorage(null);
+  private final Path directory;
+
+  private CellStorage(Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Gets the storage that keeps the records on the heap.
+   *
+   * @return the heap storage
+   */
+  static CellStorage heap() {
+    return HEAP;
+  }
+
+  /**
+   * Gets the storage that keeps the records in memory mapped temporary files.
+   *
+   * @param directory the directory in which the temporary files are created
+   * @return the mapped storage
+   */
+  static CellStorage mapped(Path directory) {
+    if (directory == null) {
+      throw new IllegalArgumentException("Directory cannot be null.");
+    }
+    return new CellStorage(directory);
+  }
+
+  boolean isMapped() {
+    return directory != null;
+  }
+
+  CellStore create(int cellCount, int width) {
+    if (directory == null) {
+      return new HeapCellStore(cellCount, width);
+    }
+    return new MappedCellStore(directory, cellCount, width);
+  }
+}
@@ -0,0 +1,55 @@
+package dungeon;
+
+/**
+ * Represents the storage of fixed width records, one per cell of the dungeon grid, in which the
+ * door masks and item counts of the locations are kept. Every field of a record is a single
+ * byte. The implementations may keep the records on the heap or outside it, in a memory mapped
+ * file. The interface and all its methods are kept package private as they will be used only
+ * within the dungeon model package.
+ */
+interface CellStore {
+
+  int getCellCount();
+
+  /**
+   * Gets the no. of byte fields in the record of every cell.
+   *
+   * @return the width of a record
+   */
+  int getRecordWidth();
+
+  /**
+   * Gets a field of the record of a cell.
+   *
+   * @param cell  the cell id
+   * @param field the index of the field in the record, from 0 to the record width
+   * @return the value of the field
+   */
+  byte get(int cell, int field);
+
+  /**
+   * Sets a field of the record of a cell.
+   *
+   * @param cell  the cell id
+   * @param field the index of the field in the record, from 0 to the record width
+   * @param value the value of the field
+   */
+  void set(int cell, int field, byte value);
+
+  /**
+   * Creates a copy of the store, of the same kind, that can be changed independently of the
+   * original.
+   *
+   * @return the copy of the store
+   */
+  CellStore copy();
+
+  /**
+   * Overwrites every record of the store with the records of another store of the same size, so
+   * that a store that is no longer needed can be reused instead of creating a copy.
+   *
+   * @param source the store whose records are copied
+   * @throws IllegalArgumentException if the stores are not of the same size
+   */
+  void copyFrom(CellStore source);
+}
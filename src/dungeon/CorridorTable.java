@@ -0,0 +1,178 @@
+package dungeon;
+
+import java.util.Arrays;
+
+/**
+ * Represents the precomputed flight paths of the arrows in the dungeon. An arrow shot from a
+ * cave leaves through the door in the direction of the shot and follows the tunnels until it
+ * reaches the next cave or a dead end. Such a corridor is stored for every cave and direction as
+ * the ordered cells that the arrow passes, along with the cave at which it ends and the
+ * direction in which it enters that cave. Since the arrow continues straight through a cave, the
+ * flight of an arrow is a chain of corridors and is resolved by a few array reads. The paths of
+ * the dungeon do not change once it is created, so the table is shared between the copies of the
+ * dungeon. The class is kept package private as it will be used only within the dungeon model
+ * package.
+ */
+class CorridorTable {
+  private static final Direction[] DIRECTIONS = GridTopology.DIRECTIONS;
+  private final GridTopology topology;
+  private final CellGraph graph;
+  private final int maxSteps;
+  private final int[] offsets;
+  private final int[] ends;
+  private final byte[] arrivals;
+  private int[] cells;
+
+  /**
+   * Creates the table of corridors for all the caves of the dungeon.
+   *
+   * @param topology the grid topology holding the doors of the dungeon
+   * @param graph    the paths of the dungeon
+   */
+  CorridorTable(GridTopology topology, CellGraph graph) {
+    if (topology == null || graph == null) {
+      throw new IllegalArgumentException("Topology and graph cannot be null.");
+    }
+    this.topology = topology;
+    this.graph = graph;
+    //a path through tunnels that is longer than the no. of directed paths must be a loop
+    this.maxSteps = 4 * topology.getCellCount();
+    int count = topology.getCellCount() * DIRECTIONS.length;
+    this.offsets = new int[count + 1];
+    this.ends = new int[count];
+    this.arrivals = new byte[count];
+    this.cells = new int[Math.max(16, count)];
+    Arrays.fill(ends, -1);
+    Arrays.fill(arrivals, (byte) -1);
+    int size = 0;
+    for (int cell = 0; cell < topology.getCellCount(); cell++) {
+      for (Direction dir : DIRECTIONS) {
+        int k = cell * DIRECTIONS.length + dir.ordinal();
+        offsets[k] = size;
+        if (!topology.isTunnel(cell)) {
+          size = addCorridor(k, cell, dir, size);
+        }
+      }
+    }
+    offsets[count] = size;
+    this.cells = Arrays.copyOf(cells, size);
+  }
+
+  private int addCorridor(int k, int cell, Direction dir, int size) {
+    int prev = cell;
+    int curr = topology.getNext(cell, dir);
+    int steps = 0;
+    //follow the tunnels until a cave or a dead end is reached
+    while (curr != -1 && topology.isTunnel(curr)) {
+      if (steps++ == maxSteps) {
+        return size;
+      }
+      size = append(size, curr);
+      int next = getNextInTunnel(prev, curr);
+      prev = curr;
+      curr = next;
+    }
+    if (curr != -1) {
+      size = append(size, curr);
+      ends[k] = curr;
+      arrivals[k] = (byte) topology.getDirection(prev, curr).ordinal();
+    }
+    return size;
+  }
+
+  private int append(int size, int cell) {
+    if (size == cells.length) {
+      cells = Arrays.copyOf(cells, size * 2);
+    }
+    cells[size] = cell;
+    return size + 1;
+  }
+
+  private int getNextInTunnel(int prev, int curr) {
+    //in a tunnel the arrow follows the path other than the one it came from
+    int count = graph.getNeighbourCount(curr);
+    for (int i = 0; i < count; i++) {
+      int next = graph.getNeighbour(curr, i);
+      if (next != prev) {
+        return next;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the no. of cells in the corridor leaving the cave in the given direction.
+   *
+   * @param cave the cell id of the cave
+   * @param dir  the direction of the corridor
+   * @return the no. of cells passed by the arrow, 0 if there is no such corridor
+   */
+  int getLength(int cave, Direction dir) {
+    int k = cave * DIRECTIONS.length + dir.ordinal();
+    return offsets[k + 1] - offsets[k];
+  }
+
+  /**
+   * Gets the cell at the given position in the corridor leaving the cave in the given direction.
+   *
+   * @param cave  the cell id of the cave
+   * @param dir   the direction of the corridor
+   * @param index the position of the cell, from 0 to the length of the corridor
+   * @return the cell id at the position
+   */
+  int getCell(int cave, Direction dir, int index) {
+    return cells[offsets[cave * DIRECTIONS.length + dir.ordinal()] + index];
+  }
+
+  /**
+   * Gets the cave at which the corridor leaving the cave in the given direction ends.
+   *
+   * @param cave the cell id of the cave
+   * @param dir  the direction of the corridor
+   * @return the cell id of the cave at the end, -1 if the corridor ends in a dead end
+   */
+  int getEnd(int cave, Direction dir) {
+    return ends[cave * DIRECTIONS.length + dir.ordinal()];
+  }
+
+  /**
+   * Gets the location at which an arrow lands when it is shot from the given location. The
+   * arrow passes through the tunnels and continues straight through the caves until it has
+   * entered the given no. of caves.
+   *
+   * @param cell     the cell id of the location from where the arrow is shot
+   * @param dir      the direction in which the arrow is shot
+   * @param distance the no. of caves the arrow can travel
+   * @return the cell id of the cave at which the arrow lands, -1 if it hits a dead end
+   */
+  int getLanding(int cell, Direction dir, int distance) {
+    int heading = dir.ordinal();
+    if (topology.isTunnel(cell)) {
+      //the corridors start only from caves, so follow the tunnels up to the first cave
+      int prev = cell;
+      int curr = topology.getNext(cell, dir);
+      int steps = 0;
+      while (curr != -1 && topology.isTunnel(curr)) {
+        if (steps++ == maxSteps) {
+          return -1;
+        }
+        int next = getNextInTunnel(prev, curr);
+        prev = curr;
+        curr = next;
+      }
+      if (curr == -1) {
+        return -1;
+      }
+      heading = topology.getDirection(prev, curr).ordinal();
+      cell = curr;
+      distance--;
+    }
+    while (cell != -1 && distance > 0) {
+      int k = cell * DIRECTIONS.length + heading;
+      cell = ends[k];
+      heading = arrivals[k];
+      distance--;
+    }
+    return cell;
+  }
+}
@@ -4,12 +4,53 @@ package dungeon;
  * Represents the Directions that a player can travel in the dungeon.
  */
 public enum Direction {
-  N("N"), E("E"), S("S"), W("W");
+  N("N", 1, -1, 0), E("E", 2, 0, 1), S("S", 4, 1, 0), W("W", 8, 0, -1);
 
   private final String direction;
+  private final int mask;
+  private final int rowOffset;
+  private final int colOffset;
 
-  Direction(String direction) {
+  Direction(String direction, int mask, int rowOffset, int colOffset) {
     this.direction = direction;
+    this.mask = mask;
+    this.rowOffset = rowOffset;
+    this.colOffset = colOffset;
+  }
+
+  /**
+   * Gets the bit used to represent the door in this direction in the door mask of a location.
+   *
+   * @return the door bit of this direction
+   */
+  int getMask() {
+    return mask;
+  }
+
+  int getRowOffset() {
+    return rowOffset;
+  }
+
+  int getColOffset() {
+    return colOffset;
+  }
+
+  /**
+   * Gets the direction opposite to this direction.
+   *
+   * @return the opposite direction
+   */
+  public Direction opposite() {
+    switch (this) {
+      case N:
+        return S;
+      case S:
+        return N;
+      case E:
+        return W;
+      default:
+        return E;
+    }
   }
 
   @Override
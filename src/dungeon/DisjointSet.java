@@ -0,0 +1,72 @@
+package dungeon;
+
+/**
+ * Represents a disjoint set (union-find) over the cells of the dungeon grid. Each cell is
+ * identified by an int id and the components are merged using union by rank, while lookups use
+ * path compression, so every operation runs in nearly constant time. The class is kept package
+ * private as it will be used only within the dungeon model package.
+ */
+class DisjointSet {
+  private final int[] parent;
+  private final byte[] rank;
+
+  /**
+   * Creates a disjoint set in which every element is in its own component.
+   *
+   * @param size the no. of elements in the set
+   */
+  DisjointSet(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size cannot be negative.");
+    }
+    parent = new int[size];
+    rank = new byte[size];
+    for (int i = 0; i < size; i++) {
+      parent[i] = i;
+    }
+  }
+
+  /**
+   * Finds the representative of the component that contains the element.
+   *
+   * @param x the element
+   * @return the representative of its component
+   */
+  int find(int x) {
+    int root = x;
+    while (parent[root] != root) {
+      root = parent[root];
+    }
+    //compress the path so that every element on it points directly to the root
+    while (parent[x] != root) {
+      int next = parent[x];
+      parent[x] = root;
+      x = next;
+    }
+    return root;
+  }
+
+  /**
+   * Merges the components containing the 2 elements.
+   *
+   * @param x the first element
+   * @param y the second element
+   * @return true if the components were merged, false if both were already in same component
+   */
+  boolean union(int x, int y) {
+    int rootX = find(x);
+    int rootY = find(y);
+    if (rootX == rootY) {
+      return false;
+    }
+    if (rank[rootX] < rank[rootY]) {
+      parent[rootX] = rootY;
+    } else if (rank[rootX] > rank[rootY]) {
+      parent[rootY] = rootX;
+    } else {
+      parent[rootY] = rootX;
+      rank[rootX]++;
+    }
+    return true;
+  }
+}
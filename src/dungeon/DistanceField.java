@@ -0,0 +1,108 @@
+package dungeon;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents the shortest distances between the locations of the dungeon. The distances from a
+ * source location are computed with a single breadth first search the first time they are
+ * needed and are then cached, so the repeated queries from the same location are answered
+ * directly from the cached int array. The cache keeps the most recently used sources within a
+ * memory budget and evicts the least recently used ones beyond it. The paths of the dungeon do
+ * not change once it is created, so the cached distances remain valid for the lifetime of the
+ * field; a dungeon with different paths uses a new field. The methods are synchronized as the
+ * field is shared between the copies of the dungeon. The class is kept package private as it
+ * will be used only within the dungeon model package.
+ */
+class DistanceField {
+  private final BreadthFirstSearch search;
+  private final int cellCount;
+  private final int maxSources;
+  private final Map<Integer, int[]> cache;
+  private int hits;
+  private int misses;
+
+  /**
+   * Creates the distance field for the paths of the dungeon.
+   *
+   * @param graph        the paths of the dungeon
+   * @param budgetBytes  the memory that can be used by the cached distances, at least the
+   *                     distances from one source are always cached
+   */
+  DistanceField(CellGraph graph, long budgetBytes) {
+    if (graph == null) {
+      throw new IllegalArgumentException("Graph cannot be null.");
+    }
+    if (budgetBytes < 0) {
+      throw new IllegalArgumentException("Memory budget cannot be negative.");
+    }
+    this.search = new BreadthFirstSearch(graph);
+    this.cellCount = graph.getCellCount();
+    long bytesPerSource = 4L * Math.max(1, cellCount);
+    this.maxSources = (int) Math.max(1, Math.min(Integer.MAX_VALUE, budgetBytes / bytesPerSource));
+    //access ordered map so that the eldest entry is the least recently used source
+    this.cache = new LinkedHashMap<Integer, int[]>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+        return size() > maxSources;
+      }
+    };
+  }
+
+  /**
+   * Gets the shortest distance of every location from the source. The returned array is shared
+   * with the cache and must not be modified.
+   *
+   * @param source the cell id of the source location
+   * @return the distances indexed by cell id, {@link BreadthFirstSearch#UNREACHABLE} for the
+   *         locations that cannot be reached from the source
+   */
+  synchronized int[] getDistances(int source) {
+    if (source < 0 || source >= cellCount) {
+      throw new IllegalArgumentException("Source location does not exist in the dungeon.");
+    }
+    int[] distances = cache.get(source);
+    if (distances == null) {
+      misses++;
+      distances = search.distancesFrom(source).clone();
+      cache.put(source, distances);
+    } else {
+      hits++;
+    }
+    return distances;
+  }
+
+  /**
+   * Gets the shortest distance between the 2 locations.
+   *
+   * @param source the cell id of the source location
+   * @param target the cell id of the target location
+   * @return the distance between the locations, {@link BreadthFirstSearch#UNREACHABLE} if there
+   *         is no path
+   */
+  int getDistance(int source, int target) {
+    if (target < 0 || target >= cellCount) {
+      throw new IllegalArgumentException("Target location does not exist in the dungeon.");
+    }
+    return getDistances(source)[target];
+  }
+
+  synchronized int getCachedSourceCount() {
+    return cache.size();
+  }
+
+  synchronized int getHitCount() {
+    return hits;
+  }
+
+  synchronized int getMissCount() {
+    return misses;
+  }
+
+  /**
+   * Removes all the cached distances.
+   */
+  synchronized void clear() {
+    cache.clear();
+  }
+}
@@ -21,25 +21,28 @@ interface Dungeon {
   /**
    * Gets the next possible moves a player can take from the given location.
    *
-   * @param loc the input location
+   * @param loc the cell id of the input location
    * @return the next possible moves
    */
-  String getNextPossibleMoves(String loc);
+  String getNextPossibleMoves(int loc);
 
   /**
    * Gets the smell at given location based on the proximity to otyughs.
    *
-   * @param loc the location at which smell needs to be known
+   * @param loc the cell id of the location at which smell needs to be known
    * @return smell at the loction
    */
-  String getLocationSmell(String loc);
+  String getLocationSmell(int loc);
 
   /**
-   * Gets the List of all locations in the dungeon.
+   * Gets the cave/tunnel at the given location. The items of all the locations are kept in the
+   * state of the dungeon indexed by their cell id, so the lookup takes constant time irrespective
+   * of the size of the dungeon.
    *
-   * @return List of all locations
+   * @param loc the cell id of the location
+   * @return the cave/tunnel at the location, null if the location does not exist
    */
-  List<Cave> getCaves();
+  Cave getCave(int loc);
 
   /**
    * moves the player in the dungeon.
@@ -102,29 +105,52 @@ interface Dungeon {
   /**
    * The start location in the dungeon.
    *
-   * @return start location of the maze
+   * @return cell id of the start location of the maze
    */
-  String getStartLocation();
+  int getStartLocation();
 
   /**
    * The end location from where the player will exit the dungeon.
    *
-   * @return the cave location from where the player can exit the dungeon
+   * @return cell id of the cave location from where the player can exit the dungeon
    */
-  String getEndLocation();
+  int getEndLocation();
 
   /**
    * Gets the type of location (Cave or Tunnel).
    *
-   * @param loc the location for which type is to be known
+   * @param loc the cell id of the location for which type is to be known
    * @return the type of location
    */
-  String getLocationType(String loc);
+  String getLocationType(int loc);
 
   /**
-   * Gets the list of all otyughs in the dungeon.
+   * Gets the list of all otyughs in the dungeon, including the ones that have been killed.
    *
-   * @return list of all otyughs in the dungeon
+   * @return unmodifiable list of all otyughs in the dungeon
    */
   List<Monster> getOtyughs();
+
+  /**
+   * Gets the locations of the otyughs that are alive. The same list is returned until an
+   * otyugh is killed.
+   *
+   * @return unmodifiable list of the cell ids of the live otyughs
+   */
+  List<Integer> getLiveOtyughLocations();
+
+  /**
+   * Gets the grid topology of the dungeon which holds the doors of every location and converts
+   * the cell ids to and from the "row-col" location strings.
+   *
+   * @return the grid topology of the dungeon
+   */
+  GridTopology getTopology();
+
+  /**
+   * Gets the shortest distances between the locations of the dungeon, computed along its paths.
+   *
+   * @return the distance field of the dungeon
+   */
+  DistanceField getDistanceField();
 }
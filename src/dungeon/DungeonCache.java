@@ -0,0 +1,202 @@
+package dungeon;
+
+import randoms.Randomizer;
+import randoms.SplittableRandomizer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches the generated dungeons by their parameters and seed, so that a game requested again
+ * with the same parameters and seed is created by copying the state of the cached dungeon
+ * instead of generating it again. The layout of a cached dungeon is shared by all its games and
+ * only the treasure, arrows and otyughs are copied for every game.
+ *
+ * <p>A seed always generates the same dungeon: the dungeon is generated from the first split of
+ * a randomizer seeded with the seed, and every game played in it gets its own randomizer from the
+ * second split, so games with the same seed also play the same way. The cache holds the most
+ * recently used dungeons up to a total no. of locations and evicts the least recently used ones
+ * beyond it. The cache is thread safe; a dungeon that is missing is generated outside the lock,
+ * so 2 threads missing the same dungeon at the same time may both generate it.
+ */
+public class DungeonCache {
+  private final long maxCellCount;
+  private final Map<Key, MasterDungeon> dungeons;
+  private long cellCount;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxCellCount the total no. of locations of the dungeons that can be cached, a
+   *                     dungeon larger than this is generated but not cached
+   */
+  public DungeonCache(long maxCellCount) {
+    if (maxCellCount < 0) {
+      throw new IllegalArgumentException("Maximum no. of locations cannot be negative.");
+    }
+    this.maxCellCount = maxCellCount;
+    //access ordered map so that the first entry is the least recently used dungeon
+    this.dungeons = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Creates a game in the dungeon of the given parameters and seed, generating the dungeon only
+   * if it is not already cached.
+   *
+   * @param rowCount                the no. of rows in the dungeon grid
+   * @param colCount                the no. of columns in the dungeon grid
+   * @param degOfInterconnectivity  the no of paths that can be added to the kruskals output
+   *                                minimum spanning tree.
+   * @param isWrap                  true if the dungeon has paths wrapping type
+   * @param percentCavesForTreasure the percentage of caves to which treasure is to be assigned.
+   *                                Also indicates the percentage of locations to which arrows will
+   *                                be assigned.
+   * @param monsterCount            the number of otyughs present in the dungeon.
+   * @param seed                    the seed from which the dungeon is generated
+   * @return the new game
+   * @throws IllegalArgumentException if the parameters of the dungeon are not valid
+   * @throws IllegalStateException    if no start and end caves far enough apart were found in
+   *                                  the dungeon generated from the seed
+   */
+  public DungeonGame createGame(int rowCount, int colCount, int degOfInterconnectivity,
+                                boolean isWrap, int percentCavesForTreasure, int monsterCount,
+                                long seed) {
+    Key key = new Key(rowCount, colCount, degOfInterconnectivity, isWrap,
+            percentCavesForTreasure, monsterCount, seed);
+    SplittableRandomizer seeds = new SplittableRandomizer(seed);
+    Randomizer generation = seeds.split();
+    Randomizer gameplay = seeds.split();
+    MasterDungeon dungeon = get(key);
+    if (dungeon == null) {
+      dungeon = new MasterDungeon(rowCount, colCount, degOfInterconnectivity, isWrap,
+              percentCavesForTreasure, generation, monsterCount);
+      dungeon = put(key, dungeon);
+    }
+    return new DungeonGame(dungeon, gameplay);
+  }
+
+  private synchronized MasterDungeon get(Key key) {
+    MasterDungeon dungeon = dungeons.get(key);
+    if (dungeon == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return dungeon;
+  }
+
+  private synchronized MasterDungeon put(Key key, MasterDungeon dungeon) {
+    MasterDungeon cached = dungeons.get(key);
+    if (cached != null) {
+      //another thread generated the same dungeon first
+      return cached;
+    }
+    long size = key.getCellCount();
+    if (size > maxCellCount) {
+      return dungeon;
+    }
+    dungeons.put(key, dungeon);
+    cellCount += size;
+    Iterator<Key> eldest = dungeons.keySet().iterator();
+    while (cellCount > maxCellCount) {
+      Key evicted = eldest.next();
+      eldest.remove();
+      cellCount -= evicted.getCellCount();
+      evictions++;
+    }
+    return dungeon;
+  }
+
+  /**
+   * Gets the no. of dungeons in the cache.
+   *
+   * @return the no. of cached dungeons
+   */
+  public synchronized int getSize() {
+    return dungeons.size();
+  }
+
+  /**
+   * Gets the total no. of locations of the dungeons in the cache.
+   *
+   * @return the no. of cached locations
+   */
+  public synchronized long getCellCount() {
+    return cellCount;
+  }
+
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictions;
+  }
+
+  /**
+   * Removes all the dungeons from the cache, the metrics are not reset.
+   */
+  public synchronized void clear() {
+    dungeons.clear();
+    cellCount = 0;
+  }
+
+  /**
+   * The parameters and seed that identify a generated dungeon.
+   */
+  private static final class Key {
+    private final int rowCount;
+    private final int colCount;
+    private final int degOfInterconnectivity;
+    private final boolean isWrap;
+    private final int percentCavesForTreasure;
+    private final int monsterCount;
+    private final long seed;
+
+    private Key(int rowCount, int colCount, int degOfInterconnectivity, boolean isWrap,
+                int percentCavesForTreasure, int monsterCount, long seed) {
+      this.rowCount = rowCount;
+      this.colCount = colCount;
+      this.degOfInterconnectivity = degOfInterconnectivity;
+      this.isWrap = isWrap;
+      this.percentCavesForTreasure = percentCavesForTreasure;
+      this.monsterCount = monsterCount;
+      this.seed = seed;
+    }
+
+    private long getCellCount() {
+      return (long) rowCount * colCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return rowCount == other.rowCount && colCount == other.colCount
+              && degOfInterconnectivity == other.degOfInterconnectivity
+              && isWrap == other.isWrap
+              && percentCavesForTreasure == other.percentCavesForTreasure
+              && monsterCount == other.monsterCount && seed == other.seed;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(rowCount, colCount, degOfInterconnectivity, isWrap,
+              percentCavesForTreasure, monsterCount, seed);
+    }
+  }
+}
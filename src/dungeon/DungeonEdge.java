@@ -6,27 +6,27 @@ package dungeon;
  * will be used only within the dungeon model package.
  */
 class DungeonEdge implements Edge {
-  private final String p1;
-  private final String p2;
+  private final int p1;
+  private final int p2;
 
   /**
    * Creates 1 edge between 2 neighbouring locations in the dungeon.
    *
-   * @param p1 location 1 in the dungeon
-   * @param p2 location 2 in the dungeon
+   * @param p1 cell id of location 1 in the dungeon
+   * @param p2 cell id of location 2 in the dungeon
    */
-  DungeonEdge(String p1, String p2) {
+  DungeonEdge(int p1, int p2) {
     this.p1 = p1;
     this.p2 = p2;
   }
 
   @Override
-  public String getP1() {
+  public int getP1() {
     return p1;
   }
 
   @Override
-  public String getP2() {
+  public int getP2() {
     return p2;
   }
 
@@ -3,7 +3,9 @@ package dungeon;
 import randoms.Randomizer;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * DungeonGame represents the class that will perform all the operations in the dungeon
@@ -17,6 +19,12 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
   private final Dungeon copyD;
   private Player p;
   private boolean playerDead = false;
+  private int playerCell = -1;
+  private String playerLocation = "";
+  private final List<String> visitedLocations = new ArrayList<>();
+  private List<Integer> otyughCells;
+  private List<String> otyughLocations;
+  private final List<GameEventListener> listeners = new CopyOnWriteArrayList<>();
 
   /**
    * Creates an instance of a game that will create the dungeon.
@@ -35,23 +43,112 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
    */
   public DungeonGame(int rowCount, int colCount, int degOfInterconnectivity, boolean isWrap,
                      int percentCavesForTreasure, Randomizer r, int monsterCount) {
+    this(rowCount, colCount, degOfInterconnectivity, isWrap, percentCavesForTreasure, r,
+            monsterCount, CellStorage.heap());
+  }
+
+  /**
+   * Creates an instance of the game whose dungeon keeps the doors and items of its locations in
+   * the given storage.
+   *
+   * @param rowCount                the no. of rows in the dungeon grid
+   * @param colCount                the no. of columns in the dungeon grid
+   * @param degOfInterconnectivity  the no of paths that can be added to the kruskals output
+   *                                minimum spanning tree.
+   * @param isWrap                  true if the dungeon has paths wrapping type
+   * @param percentCavesForTreasure the percentage of caves to which treasure is to be assigned.
+   * @param r                       the randomizer object
+   * @param monsterCount            the number of otyughs in the dungeon
+   * @param storage                 the storage of the doors and items of the locations
+   */
+  DungeonGame(int rowCount, int colCount, int degOfInterconnectivity, boolean isWrap,
+              int percentCavesForTreasure, Randomizer r, int monsterCount, CellStorage storage) {
+    this(rowCount, colCount, degOfInterconnectivity, isWrap, percentCavesForTreasure, r,
+            monsterCount, storage, new GenerationProgress());
+  }
+
+  /**
+   * Creates an instance of the game whose dungeon is generated while recording its progress in
+   * the given progress, through which the generation can also be cancelled from another thread.
+   *
+   * @param rowCount                the no. of rows in the dungeon grid
+   * @param colCount                the no. of columns in the dungeon grid
+   * @param degOfInterconnectivity  the no of paths that can be added to the kruskals output
+   *                                minimum spanning tree.
+   * @param isWrap                  true if the dungeon has paths wrapping type
+   * @param percentCavesForTreasure the percentage of caves to which treasure is to be assigned.
+   * @param r                       the randomizer object
+   * @param monsterCount            the number of otyughs in the dungeon
+   * @param storage                 the storage of the doors and items of the locations
+   * @param progress                the progress of the generation
+   * @throws java.util.concurrent.CancellationException if the progress is cancelled
+   */
+  DungeonGame(int rowCount, int colCount, int degOfInterconnectivity, boolean isWrap,
+              int percentCavesForTreasure, Randomizer r, int monsterCount, CellStorage storage,
+              GenerationProgress progress) {
     this.d = new MasterDungeon(rowCount, colCount, degOfInterconnectivity, isWrap,
-            percentCavesForTreasure, r, monsterCount);
+            percentCavesForTreasure, r, monsterCount, new UnionFindMazeCarver(), storage,
+            progress);
     this.copyD = new MasterDungeon((MasterDungeon) this.d);
   }
 
+  /**
+   * Creates an instance of a game played in a copy of an already generated dungeon. The
+   * generated dungeon is not modified, so it can be used to create many games.
+   *
+   * @param generated the generated dungeon
+   * @param r         the randomizer used while playing the game
+   */
+  DungeonGame(MasterDungeon generated, Randomizer r) {
+    this.copyD = new MasterDungeon(generated, r);
+    this.d = new MasterDungeon((MasterDungeon) this.copyD);
+  }
+
+  /**
+   * Creates an instance of a game that continues from a saved game.
+   *
+   * @param current    the dungeon as it is being played
+   * @param initial    the dungeon as it was created, to which the game is restarted
+   * @param player     the player, null if the player has not been created
+   * @param playerDead true if the player was eaten by an otyugh
+   */
+  DungeonGame(MasterDungeon current, MasterDungeon initial, Player player, boolean playerDead) {
+    if (current == null || initial == null) {
+      throw new IllegalArgumentException("Dungeons of the game cannot be null.");
+    }
+    this.d = current;
+    this.copyD = initial;
+    this.p = player;
+    this.playerDead = playerDead;
+  }
+
+  MasterDungeon getDungeon() {
+    return (MasterDungeon) d;
+  }
+
+  MasterDungeon getInitialDungeon() {
+    return (MasterDungeon) copyD;
+  }
+
+  Player getPlayer() {
+    return p;
+  }
+
   @Override
   public void refresh() {
-    this.d = new MasterDungeon((MasterDungeon) this.copyD);
+    //the state of the discarded dungeon is reused, so a mapped store is not mapped again
+    this.d = new MasterDungeon((MasterDungeon) this.copyD, (MasterDungeon) this.d);
     this.p = null;
     playerDead = false;
+    visitedLocations.clear();
   }
 
   @Override
   public void createPlayer() {
     if (this.p == null) {
-      p = new MasterDungeonPlayer(0, 0, 0, "",
+      p = new MasterDungeonPlayer(0, 0, 0, -1,
               3);
+      visitedLocations.clear();
     } else {
       throw new IllegalStateException("Player is already created for this game.");
     }
@@ -62,7 +159,12 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
+    int revealed = p.getVisitedLocations().size();
     d.addPlayer(p);
+    if (!listeners.isEmpty()) {
+      fire(GameEvent.Type.GAME_STARTED, p.getLocation(), -1);
+      publishMove(p.getLocation(), revealed);
+    }
   }
 
   @Override
@@ -75,7 +177,7 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    return p.getLocation().equals(d.getEndLocation()) || playerDead;
+    return p.getLocation() == d.getEndLocation() || playerDead;
   }
 
   @Override
@@ -83,7 +185,7 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    return d.getNextPossibleMoves(loc);
+    return d.getNextPossibleMoves(d.getTopology().toCell(loc));
   }
 
   @Override
@@ -100,12 +202,11 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    for (Cave c : d.getCaves()) {
-      if (c.getLocation().equals(loc)) {
-        return c.getRubyCount();
-      }
+    Cave c = d.getCave(d.getTopology().toCell(loc));
+    if (c == null) {
+      return 0;
     }
-    return 0;
+    return c.getRubyCount();
   }
 
   @Override
@@ -113,12 +214,11 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    for (Cave c : d.getCaves()) {
-      if (c.getLocation().equals(loc)) {
-        return c.getDiamondCount();
-      }
+    Cave c = d.getCave(d.getTopology().toCell(loc));
+    if (c == null) {
+      return 0;
     }
-    return 0;
+    return c.getDiamondCount();
   }
 
   @Override
@@ -126,12 +226,11 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    for (Cave c : d.getCaves()) {
-      if (c.getLocation().equals(loc)) {
-        return c.getSapphireCount();
-      }
+    Cave c = d.getCave(d.getTopology().toCell(loc));
+    if (c == null) {
+      return 0;
     }
-    return 0;
+    return c.getSapphireCount();
   }
 
   @Override
@@ -139,12 +238,11 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    for (Cave c : d.getCaves()) {
-      if (c.getLocation().equals(loc)) {
-        return c.getArrowCount();
-      }
+    Cave c = d.getCave(d.getTopology().toCell(loc));
+    if (c == null) {
+      return 0;
     }
-    return 0;
+    return c.getArrowCount();
   }
 
   @Override
@@ -152,7 +250,10 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    return d.getLocationSmell(loc);
+    if (loc == null) {
+      throw new IllegalArgumentException("Location cannot be null");
+    }
+    return d.getLocationSmell(d.getTopology().toCell(loc));
   }
 
   @Override
@@ -180,14 +281,16 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
       throw new IllegalStateException("Player does not exist for this game.");
     }
     Direction dir = Direction.valueOf(direction.toUpperCase());
+    int from = p.getLocation();
+    int revealed = p.getVisitedLocations().size();
     int moveResult = d.move(p, dir);
     if (moveResult == -1) {
       throw new IllegalArgumentException("Invalid move");
     } else if (moveResult == 0) {
       playerDead = true;
-      return false;
     }
-    return true;
+    publishMove(from, revealed);
+    return moveResult != 0;
   }
 
   @Override
@@ -196,7 +299,7 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    String loc = p.getLocation();
+    String loc = getPlayerLocation();
     switch (item) {
       case "R":
       case "r":
@@ -243,6 +346,7 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
       default:
         throw new IllegalArgumentException("Invalid choice of item.");
     }
+    fire(GameEvent.Type.ITEMS_CHANGED, p.getLocation(), -1);
   }
 
   @Override
@@ -251,24 +355,187 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
       throw new IllegalStateException("Player does not exist for this game.");
     }
     Direction dir = Direction.valueOf(direction.toUpperCase());
-    return d.shootArrow(p, dir, distance);
+    int result = d.shootArrow(p, dir, distance);
+    publishShot(result, dir, distance);
+    return result;
+  }
+
+  @Override
+  public int[] performActions(List<GameAction> actions) {
+    if (this.p == null) {
+      throw new IllegalStateException("Player does not exist for this game.");
+    }
+    if (actions == null) {
+      throw new IllegalArgumentException("Actions cannot be null.");
+    }
+    int[] results = new int[actions.size()];
+    int i = 0;
+    for (GameAction action : actions) {
+      if (p.getLocation() == d.getEndLocation() || playerDead) {
+        results[i++] = GameAction.SKIPPED;
+        continue;
+      }
+      switch (action.getType()) {
+        case MOVE:
+          results[i++] = performMove(action.getDirection());
+          break;
+        case PICK:
+          results[i++] = performPick(action.getItem(), action.getCount());
+          break;
+        default:
+          results[i++] = performShoot(action.getDirection(), action.getCount());
+          break;
+      }
+    }
+    return results;
+  }
+
+  private int performMove(Direction dir) {
+    int from = p.getLocation();
+    int revealed = p.getVisitedLocations().size();
+    int moveResult = d.move(p, dir);
+    if (moveResult == -1) {
+      return GameAction.INVALID;
+    } else if (moveResult == 0) {
+      playerDead = true;
+    }
+    publishMove(from, revealed);
+    return moveResult;
+  }
+
+  private int performPick(GameAction.Item item, int count) {
+    Cave c = d.getCave(p.getLocation());
+    if (c == null) {
+      return GameAction.INVALID;
+    }
+    int picked = 0;
+    switch (item) {
+      case DIAMONDS:
+        if (count > 0 && count <= c.getDiamondCount()) {
+          d.pickDiamond(p, count);
+          picked = count;
+        }
+        break;
+      case SAPPHIRES:
+        if (count > 0 && count <= c.getSapphireCount()) {
+          d.pickSapphire(p, count);
+          picked = count;
+        }
+        break;
+      case RUBIES:
+        if (count > 0 && count <= c.getRubyCount()) {
+          d.pickRuby(p, count);
+          picked = count;
+        }
+        break;
+      case ARROWS:
+        if (count > 0 && count <= c.getArrowCount()) {
+          d.pickArrows(p, count);
+          picked = count;
+        }
+        break;
+      case ALL_TREASURE:
+        //same order as picking all the treasure one at a time
+        if (c.getRubyCount() > 0) {
+          picked += c.getRubyCount();
+          d.pickRuby(p, c.getRubyCount());
+        }
+        if (c.getDiamondCount() > 0) {
+          picked += c.getDiamondCount();
+          d.pickDiamond(p, c.getDiamondCount());
+        }
+        if (c.getSapphireCount() > 0) {
+          picked += c.getSapphireCount();
+          d.pickSapphire(p, c.getSapphireCount());
+        }
+        break;
+      default:
+        if (c.getArrowCount() > 0) {
+          picked = c.getArrowCount();
+          d.pickArrows(p, picked);
+        }
+        break;
+    }
+    if (picked > 0) {
+      fire(GameEvent.Type.ITEMS_CHANGED, p.getLocation(), -1);
+      return picked;
+    }
+    return GameAction.INVALID;
+  }
+
+  private int performShoot(Direction dir, int distance) {
+    if (distance < 1 || distance > 5) {
+      return GameAction.INVALID;
+    }
+    if (p.getArrowCount() <= 0) {
+      return GameAction.NO_ARROWS;
+    }
+    if (d.getTopology().getNext(p.getLocation(), dir) == -1) {
+      return GameAction.INVALID;
+    }
+    int result = d.shootArrow(p, dir, distance);
+    publishShot(result, dir, distance);
+    return result;
+  }
+
+  /**
+   * Publishes the changes of a move of the player to the listeners.
+   *
+   * @param from     the cell of the player before the move
+   * @param revealed the no. of locations visited by the player before the move
+   */
+  private void publishMove(int from, int revealed) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    int to = p.getLocation();
+    if (to != from) {
+      fire(GameEvent.Type.PLAYER_MOVED, to, from);
+    }
+    if (p.getVisitedLocations().size() > revealed) {
+      fire(GameEvent.Type.LOCATION_REVEALED, to, -1);
+    }
+    if (to == d.getEndLocation() || playerDead) {
+      fire(GameEvent.Type.GAME_OVER, to, -1);
+    }
+  }
+
+  private void publishShot(int result, Direction dir, int distance) {
+    if ((result != 1 && result != 2) || listeners.isEmpty()) {
+      return;
+    }
+    int landing = ((MasterDungeon) d).getArrowLanding(p.getLocation(), dir, distance);
+    fire(result == 1 ? GameEvent.Type.OTYUGH_DAMAGED : GameEvent.Type.OTYUGH_KILLED, landing, -1);
+  }
+
+  private void fire(GameEvent.Type type, int cell, int from) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    GridTopology topology = d.getTopology();
+    GameEvent event = new GameEvent(type, topology.toLocation(cell),
+            from == -1 ? null : topology.toLocation(from));
+    for (GameEventListener listener : listeners) {
+      listener.onEvent(event);
+    }
   }
 
   @Override
   public String getStartLocation() {
-    return d.getStartLocation();
+    return d.getTopology().toLocation(d.getStartLocation());
   }
 
   @Override
   public String getEndLocation() {
-    return d.getEndLocation();
+    return d.getTopology().toLocation(d.getEndLocation());
   }
 
   @Override
   public List<String> getEdges() {
     List<String> dungeonPaths = new ArrayList<>();
+    GridTopology topology = d.getTopology();
     for (Edge e : d.getEdges()) {
-      String s = e.toString();
+      String s = topology.toLocation(e.getP1()) + "=" + topology.toLocation(e.getP2());
       dungeonPaths.add(s);
     }
     return dungeonPaths;
@@ -279,7 +546,12 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    return p.getLocation();
+    //the location string is only rebuilt when the player moves to a different cell
+    if (p.getLocation() != playerCell) {
+      playerCell = p.getLocation();
+      playerLocation = playerCell == -1 ? "" : d.getTopology().toLocation(playerCell);
+    }
+    return playerLocation;
   }
 
   @Override
@@ -287,23 +559,48 @@ public class DungeonGame implements GameModel, GameModelReadOnly {
     if (this.p == null) {
       throw new IllegalStateException("Player does not exist for this game.");
     }
-    return p.getVisitedLocations();
+    //the player only ever adds locations to the visited list, so only the new ones are converted
+    List<Integer> visited = p.getVisitedLocations();
+    for (int i = visitedLocations.size(); i < visited.size(); i++) {
+      visitedLocations.add(d.getTopology().toLocation(visited.get(i)));
+    }
+    return visitedLocations;
   }
 
   @Override
   public String getLocationType(String loc) {
-    return d.getLocationType(loc);
+    if (loc == null) {
+      throw new IllegalArgumentException("Location cannot be null");
+    }
+    return d.getLocationType(d.getTopology().toCell(loc));
   }
 
   @Override
   public List<String> getOtyughLocations() {
-    List<String> otyughLocations = new ArrayList<>();
-    for (Monster o : d.getOtyughs()) {
-      String s = o.getLocation();
-      if (o.getHealth() > 0) {
-        otyughLocations.add(s);
+    //the dungeon returns the same list of cells until an otyugh is killed, so the locations
+    //are converted only when it changes
+    List<Integer> cells = d.getLiveOtyughLocations();
+    if (cells != otyughCells) {
+      List<String> locations = new ArrayList<>(cells.size());
+      for (int cell : cells) {
+        locations.add(d.getTopology().toLocation(cell));
       }
+      otyughCells = cells;
+      otyughLocations = Collections.unmodifiableList(locations);
     }
     return otyughLocations;
   }
+
+  @Override
+  public void addGameEventListener(GameEventListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+    listeners.add(listener);
+  }
+
+  @Override
+  public void removeGameEventListener(GameEventListener listener) {
+    listeners.remove(listener);
+  }
 }
@@ -1,8 +1,5 @@
 package dungeon;
 
-import randoms.RandomGenerator;
-import randoms.Randomizer;
-
 import java.awt.event.KeyEvent;
 
 /**
@@ -13,12 +10,32 @@ import java.awt.event.KeyEvent;
 public class DungeonGameSwingController implements GameControllerSwing {
   private DungeonGameView view;
   private GameModel model;
+  private final DungeonGeneratorService generator;
+  private int latestRequest;
+  private GenerationProgress generating;
 
   /**
-   * Constructor for the controller.
+   * Constructor for the controller that generates the dungeon of a new game on the calling
+   * thread.
    */
   public DungeonGameSwingController(DungeonGameView view) {
+    this(view, new DungeonGeneratorService(Runnable::run, Runnable::run));
+  }
+
+  /**
+   * Constructor for the controller that generates the dungeons of new games with the given
+   * service, so that large dungeons can be generated off the event dispatch thread.
+   *
+   * @param view      the view of the game
+   * @param generator the service generating the dungeons, calling back on the event dispatch
+   *                  thread
+   */
+  public DungeonGameSwingController(DungeonGameView view, DungeonGeneratorService generator) {
+    if (generator == null) {
+      throw new IllegalArgumentException("Generator cannot be null.");
+    }
     this.view = view;
+    this.generator = generator;
   }
 
   @Override
@@ -33,10 +50,44 @@ public class DungeonGameSwingController implements GameControllerSwing {
   @Override
   public void createModel(int rowCount, int colCount, int degCount, boolean isWrap, int percentage,
                           int otyughCount) {
-    Randomizer r = new RandomGenerator();
-    model = new DungeonGame(rowCount, colCount, degCount, isWrap, percentage, r, otyughCount);
-    view.setModel((GameModelReadOnly) model);
-    startGame(model);
+    //only the game of the latest request is started, earlier ones still generating are cancelled
+    int request = ++latestRequest;
+    if (generating != null) {
+      generating.cancel();
+    }
+    generating = generator.generate(rowCount, colCount, degCount, isWrap, percentage, otyughCount,
+            new GenerationListener() {
+              @Override
+              public void onProgress(int percent) {
+                if (request == latestRequest) {
+                  view.showProgress(percent);
+                }
+              }
+
+              @Override
+              public void onGenerated(DungeonGame game) {
+                if (request == latestRequest) {
+                  model = game;
+                  view.setModel(game);
+                  startGame(model);
+                }
+              }
+
+              @Override
+              public void onFailed(RuntimeException e) {
+                if (request != latestRequest) {
+                  return;
+                }
+                //the inputs that cannot make a dungeon are rejected only while generating it
+                if (e instanceof IllegalArgumentException || e instanceof IllegalStateException) {
+                  view.showInputError(e.getMessage());
+                } else if (e.getMessage() != null) {
+                  view.showError(e.getMessage());
+                } else {
+                  view.showError("The dungeon could not be generated, please try again.");
+                }
+              }
+            });
   }
 
   private void startGame(GameModel g) {
@@ -2,25 +2,20 @@ package dungeon;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
-import java.awt.Graphics;
-import java.awt.GridBagConstraints;
-import java.awt.GridBagLayout;
-import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
 
-import javax.imageio.ImageIO;
 import javax.swing.BoxLayout;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
@@ -30,6 +25,7 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
 import javax.swing.JSplitPane;
@@ -50,7 +46,7 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
   JMenuItem exitGame;
   JDialog jd;
   private JPanel infoPanel;
-  private JPanel dungeonPanel;
+  private DungeonMapPanel dungeonPanel;
   JScrollPane panelPane;
   JSplitPane splitPane;
   JButton modelInputs;
@@ -63,7 +59,14 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
   GameModelReadOnly model;
   private boolean isShiftPressed;
   private boolean isWrap;
+  private int rowCount;
+  private int colCount;
+  private int pendingRowCount;
+  private int pendingColCount;
+  private boolean pendingWrap;
   private String infoPanelMsg = "";
+  private final SpriteAtlas atlas;
+  private JCheckBoxMenuItem followPlayer;
 
   /**
    * Constructor for the Dungeon Game view that initializes the panel and frame parameters for the
@@ -77,17 +80,19 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
     this.setUndecorated(true);
     this.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
     addMenu();
+    atlas = SpriteAtlas.getInstance();
     isShiftPressed = false;
     isWrap = false;
     modelInputs = new JButton("Ok");
     infoPanel = new JPanel();
     infoPanel.setBackground(Color.LIGHT_GRAY);
     infoPanel.setVisible(true);
-    dungeonPanel = new JPanel();
-    dungeonPanel.setBackground(Color.gray);
-    dungeonPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
+    dungeonPanel = new DungeonMapPanel(atlas);
     dungeonPanel.setVisible(true);
     panelPane = new JScrollPane(dungeonPanel);
+    //scroll by a quarter of a tile at a time
+    panelPane.getHorizontalScrollBar().setUnitIncrement(DungeonMapPanel.TILE_SIZE / 4);
+    panelPane.getVerticalScrollBar().setUnitIncrement(DungeonMapPanel.TILE_SIZE / 4);
     splitPane = new JSplitPane();
     splitPane.setSize(600, 750);
     splitPane.setDividerSize(3);
@@ -108,6 +113,7 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
     instructions.addActionListener((ActionEvent e) -> {
       String instrMsg = "Starting New Game: Options -> New Game (Enter valid inputs to "
               + "generate the dungeon)\n\nRestart Previous Game: Options -> Restart Game\n\n"
+              + "Keep Player Centred: Options -> Follow Player\n\n"
               + "Quit Game Window: Options -> Exit Game\n\n"
               + "Please use the following Commands to play\n\n"
               + "Player Movement -> Directional arrow keys / Mouse click at any immediate "
@@ -126,6 +132,14 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
     restartGame = new JMenuItem("Restart Game");
     menu.add(restartGame);
 
+    followPlayer = new JCheckBoxMenuItem("Follow Player", true);
+    menu.add(followPlayer);
+    followPlayer.addActionListener(e -> {
+      if (followPlayer.isSelected() && model != null) {
+        dungeonPanel.centreOn(model.getPlayerLocation());
+      }
+    });
+
     exitGame = new JMenuItem("Exit Game");
     menu.add(exitGame);
     exitGame.addActionListener((ActionEvent e) -> System.exit(0));
@@ -212,21 +226,22 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
   @Override
   public void addModelInputListener(GameControllerSwing listener) {
     modelInputs.addActionListener(e -> {
-      int rowCount = (int) row.getValue();
-      int colCount = (int) col.getValue();
+      //the game being played keeps its size until the new dungeon is generated
+      pendingRowCount = (int) row.getValue();
+      pendingColCount = (int) col.getValue();
       int degCount = (int) deg.getValue();
       int percentage = (int) perc.getValue();
       int otyughCount = (int) difficulty.getValue();
-      isWrap = false;
+      pendingWrap = false;
       if (wrap.getSelectedIndex() == 0) {
-        isWrap = true;
+        pendingWrap = true;
       }
       try {
-        listener.createModel(rowCount, colCount, degCount, isWrap, percentage, otyughCount);
-        jd.dispose();
+        //the inputs stay open until the dungeon is generated, as it may still reject them
+        listener.createModel(pendingRowCount, pendingColCount, degCount, pendingWrap, percentage,
+                otyughCount);
       } catch (IllegalArgumentException a) {
-        JOptionPane.showMessageDialog(null, "Please enter valid inputs",
-                "Invalid Inputs", JOptionPane.ERROR_MESSAGE);
+        showInputError(a.getMessage());
       }
     });
   }
@@ -290,6 +305,12 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
   @Override
   public void setModel(GameModelReadOnly model) {
     this.model = model;
+    rowCount = pendingRowCount;
+    colCount = pendingColCount;
+    isWrap = pendingWrap;
+    if (jd != null) {
+      jd.dispose();
+    }
   }
 
   @Override
@@ -297,6 +318,50 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
     setVisible(true);
   }
 
+  @Override
+  public void showProgress(int percent) {
+    if (percent >= 100) {
+      setCursor(Cursor.getDefaultCursor());
+      return;
+    }
+    setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+    infoPanel.removeAll();
+    infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+    infoPanel.add(new JLabel("Generating the dungeon..."));
+    JProgressBar progress = new JProgressBar(0, 100);
+    progress.setValue(percent);
+    progress.setStringPainted(true);
+    infoPanel.add(progress);
+    infoPanel.updateUI();
+  }
+
+  @Override
+  public void showError(String message) {
+    restoreInfoPanel();
+    JOptionPane.showMessageDialog(null, message, "Error", JOptionPane.ERROR_MESSAGE);
+  }
+
+  @Override
+  public void showInputError(String message) {
+    restoreInfoPanel();
+    if (jd == null || !jd.isDisplayable()) {
+      createNewGame();
+    }
+    JOptionPane.showMessageDialog(jd, "Please enter valid inputs. " + message,
+            "Invalid Inputs", JOptionPane.ERROR_MESSAGE);
+  }
+
+  private void restoreInfoPanel() {
+    setCursor(Cursor.getDefaultCursor());
+    //the progress of the failed dungeon is replaced by the game that is still being played
+    if (model != null) {
+      refresh("");
+    } else {
+      infoPanel.removeAll();
+      infoPanel.updateUI();
+    }
+  }
+
   @Override
   public void addClickListener(GameControllerSwing listener) {
     // create the MouseAdapter
@@ -308,7 +373,7 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
         int x = e.getX();
         int y = e.getY();
         if (!model.isGameOver()) {
-          listener.handleCellClick(x, y, isWrap, (int) row.getValue(), (int) col.getValue());
+          listener.handleCellClick(x, y, isWrap, rowCount, colCount);
         } else if (model.isGameOver() && !model.isPlayerDead()) {
           refresh("You completed the maze..GAME OVER");
         }
@@ -323,211 +388,64 @@ public class DungeonGameSwingView extends JFrame implements DungeonGameView {
       infoPanelMsg = message;
     }
     infoPanel.removeAll();
-    dungeonPanel.removeAll();
     JPanel rowPanel;
     BoxLayout boxlayout = new BoxLayout(infoPanel, BoxLayout.Y_AXIS);
     infoPanel.setLayout(boxlayout);
 
-    try {
-      //Player image
-      rowPanel = new JPanel();
-      rowPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
-      Image overlay = ImageIO.read(getClass().getResourceAsStream("/player.png"));
-      overlay = overlay.getScaledInstance(30, 30, Image.SCALE_SMOOTH);
-      Icon img = new ImageIcon(overlay);
-
-      //player bag info
-      JLabel playerInfo = new JLabel();
-      playerInfo.setIcon(img);
-      rowPanel.add(playerInfo);
-      JTextField bagCount = new JTextField();
-      bagCount.setText(model.getPlayerDescription());
-      bagCount.setEditable(false);
-      rowPanel.add(bagCount);
-      infoPanel.add(rowPanel);
-
-      //location image
-      rowPanel = new JPanel();
-      rowPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
-      String path;
-      if (model.getLocationType(model.getPlayerLocation()).equals("Tunnel")) {
-        path = "/NS.png";
-      } else {
-        path = "/N.png";
-      }
-      overlay = ImageIO.read(getClass().getResourceAsStream(path));
-      overlay = overlay.getScaledInstance(30, 30, Image.SCALE_SMOOTH);
-      img = new ImageIcon(overlay);
-      JLabel locationInfo = new JLabel();
-      locationInfo.setIcon(img);
-      rowPanel.add(locationInfo);
-
-      //location info
-      String items = model.getAvailableItems(model.getPlayerLocation());
-      if (items.equals("")) {
-        items = "No items at this location.";
-      }
-      JTextField locItemCount = new JTextField();
-      locItemCount.setText(items);
-      locItemCount.setEditable(false);
-      rowPanel.add(locItemCount);
-      infoPanel.add(rowPanel);
-
-      //Current Game state
-      rowPanel = new JPanel();
-      rowPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
-      JTextField gameStatus = new JTextField();
-      gameStatus.setText(infoPanelMsg);
-      gameStatus.setEditable(false);
-      rowPanel.add(gameStatus);
-      infoPanel.add(rowPanel);
-
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
-
-    int rowCount = (int) row.getValue();
-    int colCount = (int) col.getValue();
-
-    JPanel container = new JPanel();
-    container.setPreferredSize(new Dimension(64 * colCount, 64 * rowCount));
-    container.setVisible(true);
-
-    GridBagLayout gridbag = new GridBagLayout();
-    gridbag.preferredLayoutSize(container);
-    GridBagConstraints c = new GridBagConstraints();
-    container.setLayout(gridbag);
-
-    for (int i = 0; i < rowCount; i++) {
-      for (int j = 0; j < colCount; j++) {
-        Icon img = getImage(i, j);
-        if (img == null) {
-          try {
-            img = new ImageIcon(ImageIO.read(getClass().getResourceAsStream("/blank.png")));
-          } catch (IOException e) {
-            throw new IllegalStateException("Image not found");
-          }
-        }
-        JLabel imgLabel = new JLabel();
-        imgLabel.setIcon(img);
-        c.gridx = j;
-        c.gridy = i;
-        container.add(imgLabel, c);
-      }
+    //Player image
+    rowPanel = new JPanel();
+    rowPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
+    Icon img = new ImageIcon(atlas.getSprite(SpriteAtlas.Sprite.PLAYER_ICON));
+
+    //player bag info
+    JLabel playerInfo = new JLabel();
+    playerInfo.setIcon(img);
+    rowPanel.add(playerInfo);
+    JTextField bagCount = new JTextField();
+    bagCount.setText(model.getPlayerDescription());
+    bagCount.setEditable(false);
+    rowPanel.add(bagCount);
+    infoPanel.add(rowPanel);
+
+    //location image
+    rowPanel = new JPanel();
+    rowPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
+    SpriteAtlas.Sprite location;
+    if (model.getLocationType(model.getPlayerLocation()).equals("Tunnel")) {
+      location = SpriteAtlas.Sprite.TUNNEL_ICON;
+    } else {
+      location = SpriteAtlas.Sprite.CAVE_ICON;
     }
-    dungeonPanel.add(container);
-    infoPanel.updateUI();
-    dungeonPanel.updateUI();
-  }
-
-  private Icon getImage(int row, int col) {
-    try {
-      String nextMoves = "";
-      Icon img;
-      BufferedImage imgFinal = null;
-      String loc = "" + row + "-" + col;
-
-      nextMoves = model.getNextPossibleMoves(loc)
-              .replaceAll("\\s", "");
-
-      if (nextMoves.equals("") || !model.getAllVisitedLocations().contains("" + row + "-" + col)) {
-        return null;
-      } else {
-        String imgPath = "/" + nextMoves + ".png";
-
-        try {
-          img = new ImageIcon(ImageIO.read(getClass().getResourceAsStream(imgPath)));
-          imgFinal = getBufferedImageFromIcon(img);
-
-          //check for diamond in this location
-          if (model.getDiamondCount(loc) > 0) {
-            imgFinal = overlay(imgFinal, "/diamond.png", 20,
-                    true, 8, 8);
-          }
-          if (model.getSapphireCount(loc) > 0) {
-            imgFinal = overlay(imgFinal, "/sapphire.png", 25,
-                    true, 8, 8);
-          }
-          if (model.getRubyCount(loc) > 0) {
-            imgFinal = overlay(imgFinal, "/ruby.png", 30,
-                    true, 8, 8);
-          }
-          //check for arrows in this location
-          if (model.getArrowCount(loc) > 0) {
-            imgFinal = overlay(imgFinal, "/arrow-white.png", 20,
-                    true, 12, 6);
-          }
-          //check for smell in this location
-          if (model.getLocationSmell(loc).equals("Bad") && !model.getOtyughLocations()
-                  .contains(loc)) {
-            imgFinal = overlay(imgFinal, "/stench01.png", 0,
-                    false, 0, 0);
-          }
-          if (model.getLocationSmell(loc).equals("Terrible") && !model.getOtyughLocations()
-                  .contains(loc)) {
-            imgFinal = overlay(imgFinal, "/stench02.png", 0,
-                    false, 0, 0);
-          }
-          //check for player in this location
-          if (model.getPlayerLocation().equals(loc)) {
-            imgFinal = overlay(imgFinal, "/player.png", 20,
-                    true, 25, 25);
-          }
-
-          //check for monster in this location
-          if (model.getOtyughLocations().contains(loc)) {
-            imgFinal = overlay(imgFinal, "/otyugh.png", 10,
-                    true, 30, 30);
-          }
-        } catch (IOException e) {
-          throw new IllegalStateException("Image not found");
-        }
-        return new ImageIcon(imgFinal);
-      }
-    } catch (Exception e) {
-      throw new IllegalStateException(e.getMessage());
+    img = new ImageIcon(atlas.getSprite(location));
+    JLabel locationInfo = new JLabel();
+    locationInfo.setIcon(img);
+    rowPanel.add(locationInfo);
+
+    //location info
+    String items = model.getAvailableItems(model.getPlayerLocation());
+    if (items.equals("")) {
+      items = "No items at this location.";
     }
-  }
-
-  //http://www.java2s.com/example/java-utility-method/icon-to-bufferedimage-index-0.html
-  private BufferedImage getBufferedImageFromIcon(Icon icon) {
-    BufferedImage buffer = new BufferedImage(icon.getIconWidth(), icon.getIconHeight(),
-            BufferedImage.TYPE_INT_ARGB);
-    Graphics g = buffer.getGraphics();
-    icon.paintIcon(new JLabel(), g, 0, 0);
-    g.dispose();
-    return buffer;
-  }
+    JTextField locItemCount = new JTextField();
+    locItemCount.setText(items);
+    locItemCount.setEditable(false);
+    rowPanel.add(locItemCount);
+    infoPanel.add(rowPanel);
 
-  /**
-   * Gets a BufferedImage, overlays a new image on it, and then returns the new combined image.
-   *
-   * @param starting The base image. This is the image that needs to have another image layered
-   *                 over it.
-   * @param fpath    The path of the image that should be superimposed i.e. the image on top of
-   *                 the base image.
-   * @param offset   The offset by which the top image should be superimposed on the base image.
-   * @return          The combined image where the image in 'fpath' is superimposed on top of
-   *                  the image in 'starting'
-   * @throws IOException Thrown when fpath is not found?
-   */
-  private BufferedImage overlay(BufferedImage starting, String fpath, int offset,
-                                boolean scaleDown, int newWidth, int newHeight) throws IOException {
-    Image overlay = ImageIO.read(getClass().getResourceAsStream(fpath));
-    if (scaleDown) {
-      overlay = overlay.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
-    }
-    BufferedImage combined = new BufferedImage(starting.getWidth(), starting.getHeight(),
-            BufferedImage.TYPE_INT_ARGB);
-    Graphics g = combined.getGraphics();
-    g.drawImage(starting, 0, 0, null);
-    int yOffset = 20;
-    if (fpath.contains("arrow")) {
-      yOffset = 30;
-    } else if (fpath.contains("stench")) {
-      yOffset = 0;
+    //Current Game state
+    rowPanel = new JPanel();
+    rowPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
+    JTextField gameStatus = new JTextField();
+    gameStatus.setText(infoPanelMsg);
+    gameStatus.setEditable(false);
+    rowPanel.add(gameStatus);
+    infoPanel.add(rowPanel);
+
+    //only the locations changed since the last refresh are drawn again
+    dungeonPanel.update(model, rowCount, colCount);
+    if (followPlayer.isSelected()) {
+      dungeonPanel.centreOn(model.getPlayerLocation());
     }
-    g.drawImage(overlay, offset, yOffset, null);
-    return combined;
+    infoPanel.updateUI();
   }
 }
@@ -63,4 +63,28 @@ public interface DungeonGameView {
    * @return shooting distance for the arrow
    */
   int addShootDistanceListener();
+
+  /**
+   * Shows the progress of generating the dungeon of a new game. Only very large dungeons report
+   * their progress, the view is refreshed as usual once the game is ready.
+   *
+   * @param percent the percentage of the generation that is done, from 0 to 100
+   */
+  void showProgress(int percent);
+
+  /**
+   * Shows an error that happened outside of the game, like a dungeon that could not be
+   * generated.
+   *
+   * @param message the message to be displayed to the user
+   */
+  void showError(String message);
+
+  /**
+   * Shows that the inputs of a new game were rejected while generating its dungeon, like more
+   * otyughs than there are caves, and lets the user correct the inputs.
+   *
+   * @param message the reason the inputs were rejected
+   */
+  void showInputError(String message);
 }
@@ -0,0 +1,270 @@
+package dungeon;
+
+import randoms.RandomGenerator;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Generates the dungeons of new games on a pool of worker threads, so that the thread asking for
+ * a game, the event dispatch thread of the swing game, is not blocked while a large dungeon is
+ * generated. The listener of a game is called on the callback executor once the game is ready,
+ * and with the progress of every completed {@link GenerationStage} while a large dungeon is
+ * generated. A generation can be cancelled through the {@link GenerationProgress} returned for
+ * it, the listener is then told that it failed with a
+ * {@link java.util.concurrent.CancellationException}.
+ *
+ * <p>When speculation is turned on, another dungeon with the same parameters is generated in the
+ * background after every game, so that the next new game with the same parameters is ready at
+ * once. A spare dungeon that is no longer wanted is discarded and its generation cancelled.
+ */
+public class DungeonGeneratorService {
+  //dungeons of at least 256x256 locations report their progress
+  static final long PROGRESS_CELL_COUNT = 256 * 256;
+  private final Executor workers;
+  private final Executor callbacks;
+  private final ExecutorService pool;
+  private boolean speculative;
+  private Request spareRequest;
+  private GenerationProgress spareProgress;
+  private CompletableFuture<DungeonGame> spare;
+  private long spareHits;
+
+  /**
+   * Creates the service with its own pool of daemon worker threads.
+   *
+   * @param threads   the no. of worker threads
+   * @param callbacks the executor on which the listeners are called
+   */
+  public DungeonGeneratorService(int threads, Executor callbacks) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("No. of threads should be at least 1.");
+    }
+    if (callbacks == null) {
+      throw new IllegalArgumentException("Callback executor cannot be null.");
+    }
+    this.pool = Executors.newFixedThreadPool(threads, task -> {
+      Thread t = new Thread(task, "dungeon-generator");
+      t.setDaemon(true);
+      return t;
+    });
+    this.workers = pool;
+    this.callbacks = callbacks;
+  }
+
+  /**
+   * Creates the service that generates the dungeons on the given executor. Passing an executor
+   * that runs the tasks on the calling thread generates the dungeons synchronously.
+   *
+   * @param workers   the executor on which the dungeons are generated
+   * @param callbacks the executor on which the listeners are called
+   */
+  public DungeonGeneratorService(Executor workers, Executor callbacks) {
+    if (workers == null || callbacks == null) {
+      throw new IllegalArgumentException("Executors cannot be null.");
+    }
+    this.pool = null;
+    this.workers = workers;
+    this.callbacks = callbacks;
+  }
+
+  /**
+   * Turns the speculative generation of a spare dungeon after every game on or off. Turning it
+   * off discards the current spare dungeon.
+   *
+   * @param speculative true to generate a spare dungeon after every game
+   */
+  public synchronized void setSpeculative(boolean speculative) {
+    this.speculative = speculative;
+    if (!speculative) {
+      discardSpare();
+    }
+  }
+
+  /**
+   * Generates the dungeon of a new game. The parameters are checked before this method returns,
+   * the game itself is delivered to the listener once it is generated.
+   *
+   * @param rowCount                the no. of rows in the dungeon grid
+   * @param colCount                the no. of columns in the dungeon grid
+   * @param degOfInterconnectivity  the no of paths that can be added to the kruskals output
+   *                                minimum spanning tree.
+   * @param isWrap                  true if the dungeon has paths wrapping type
+   * @param percentCavesForTreasure the percentage of caves to which treasure is to be assigned.
+   *                                Also indicates the percentage of locations to which arrows will
+   *                                be assigned.
+   * @param monsterCount            the number of otyughs present in the dungeon.
+   * @param listener                receives the progress and the new game
+   * @return the progress of the generation, through which it can be cancelled
+   * @throws IllegalArgumentException if the parameters of the dungeon are not valid
+   */
+  public GenerationProgress generate(int rowCount, int colCount, int degOfInterconnectivity,
+                                     boolean isWrap, int percentCavesForTreasure,
+                                     int monsterCount, GenerationListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+    MasterDungeon.checkParameters(rowCount, colCount, degOfInterconnectivity, isWrap,
+            percentCavesForTreasure, monsterCount);
+    Request request = new Request(rowCount, colCount, degOfInterconnectivity, isWrap,
+            percentCavesForTreasure, monsterCount);
+    boolean reportProgress = (long) rowCount * colCount >= PROGRESS_CELL_COUNT;
+    CompletableFuture<DungeonGame> game;
+    GenerationProgress progress;
+    synchronized (this) {
+      progress = spareProgress;
+      game = takeSpare(request);
+    }
+    //the progress of a spare dungeon is not reported, only its completion
+    boolean fromSpare = game != null;
+    if (!fromSpare) {
+      if (reportProgress) {
+        callbacks.execute(() -> listener.onProgress(0));
+        progress = new GenerationProgress(percent ->
+                callbacks.execute(() -> listener.onProgress(percent)));
+      } else {
+        progress = new GenerationProgress();
+      }
+      GenerationProgress tracked = progress;
+      game = CompletableFuture.supplyAsync(() -> request.create(tracked), workers);
+    } else {
+      //a spare that failed to generate is replaced by a new dungeon
+      GenerationProgress tracked = progress;
+      game = game.handle((g, e) -> e == null ? CompletableFuture.completedFuture(g)
+              : CompletableFuture.supplyAsync(() -> request.create(tracked), workers))
+              .thenCompose(g -> g);
+    }
+    game.whenComplete((g, e) -> {
+      if (e == null) {
+        speculate(request);
+        callbacks.execute(() -> {
+          if (reportProgress && fromSpare) {
+            listener.onProgress(100);
+          }
+          listener.onGenerated(g);
+        });
+      } else {
+        RuntimeException failure = unwrap(e);
+        callbacks.execute(() -> listener.onFailed(failure));
+      }
+    });
+    return progress;
+  }
+
+  /**
+   * Gets the no. of new games that were served from a speculatively generated dungeon.
+   *
+   * @return the no. of games served from a spare dungeon
+   */
+  public synchronized long getSpareHitCount() {
+    return spareHits;
+  }
+
+  /**
+   * Stops the worker threads of the service, if it created its own.
+   */
+  public void shutdown() {
+    setSpeculative(false);
+    if (pool != null) {
+      pool.shutdownNow();
+    }
+  }
+
+  private synchronized CompletableFuture<DungeonGame> takeSpare(Request request) {
+    CompletableFuture<DungeonGame> game = null;
+    if (spare != null && spareRequest.equals(request)) {
+      game = spare;
+      spare = null;
+      spareRequest = null;
+      spareProgress = null;
+      spareHits++;
+    } else {
+      discardSpare();
+    }
+    return game;
+  }
+
+  private synchronized void speculate(Request request) {
+    if (!speculative || request.equals(spareRequest)) {
+      return;
+    }
+    discardSpare();
+    GenerationProgress progress = new GenerationProgress();
+    spareRequest = request;
+    spareProgress = progress;
+    spare = CompletableFuture.supplyAsync(() -> request.create(progress), workers);
+  }
+
+  private void discardSpare() {
+    if (spare != null) {
+      spareProgress.cancel();
+      spare.cancel(false);
+    }
+    spare = null;
+    spareRequest = null;
+    spareProgress = null;
+  }
+
+  private static RuntimeException unwrap(Throwable e) {
+    Throwable cause = e instanceof CompletionException && e.getCause() != null
+            ? e.getCause() : e;
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    return new IllegalStateException("Dungeon generation failed.", cause);
+  }
+
+  /**
+   * The parameters of a requested dungeon.
+   */
+  private static final class Request {
+    private final int rowCount;
+    private final int colCount;
+    private final int degOfInterconnectivity;
+    private final boolean isWrap;
+    private final int percentCavesForTreasure;
+    private final int monsterCount;
+
+    private Request(int rowCount, int colCount, int degOfInterconnectivity, boolean isWrap,
+                    int percentCavesForTreasure, int monsterCount) {
+      this.rowCount = rowCount;
+      this.colCount = colCount;
+      this.degOfInterconnectivity = degOfInterconnectivity;
+      this.isWrap = isWrap;
+      this.percentCavesForTreasure = percentCavesForTreasure;
+      this.monsterCount = monsterCount;
+    }
+
+    private DungeonGame create(GenerationProgress progress) {
+      return new DungeonGame(rowCount, colCount, degOfInterconnectivity, isWrap,
+              percentCavesForTreasure, new RandomGenerator(), monsterCount, CellStorage.heap(),
+              progress);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Request)) {
+        return false;
+      }
+      Request other = (Request) o;
+      return rowCount == other.rowCount && colCount == other.colCount
+              && degOfInterconnectivity == other.degOfInterconnectivity
+              && isWrap == other.isWrap
+              && percentCavesForTreasure == other.percentCavesForTreasure
+              && monsterCount == other.monsterCount;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(rowCount, colCount, degOfInterconnectivity, isWrap,
+              percentCavesForTreasure, monsterCount);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package dungeon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the part of the dungeon that does not change once it has been created: the grid
+ * with the doors of every location, the paths, the precomputed distances and arrow corridors,
+ * and the start and end locations. A layout is shared by all the copies of a dungeon, only the
+ * {@link DungeonState} is copied when the game is restarted. The layout of a loaded game holds
+ * its paths as pairs of cell ids and creates the edge objects and arrow corridors only when they
+ * are first needed. The class is kept package private as it will be used only within the
+ * dungeon model package.
+ */
+class DungeonLayout {
+  private final GridTopology topology;
+  private final int[] ends;
+  private final CellGraph graph;
+  private final DistanceField distanceField;
+  private volatile List<Edge> edges;
+  private volatile CorridorTable corridors;
+  private final int startLocation;
+  private final int endLocation;
+  private final int caveCount;
+
+  /**
+   * Creates the layout of a dungeon.
+   *
+   * @param topology      the grid topology with the doors of every location
+   * @param edges         the paths of the dungeon
+   * @param graph         the adjacency list of the paths
+   * @param distanceField the distances between the locations
+   * @param corridors     the flight paths of the arrows
+   * @param startLocation the cell id of the start location
+   * @param endLocation   the cell id of the end location
+   */
+  DungeonLayout(GridTopology topology, List<Edge> edges, CellGraph graph,
+                DistanceField distanceField, CorridorTable corridors, int startLocation,
+                int endLocation) {
+    if (topology == null || edges == null || graph == null || distanceField == null
+            || corridors == null) {
+      throw new IllegalArgumentException("Layout of the dungeon cannot be incomplete.");
+    }
+    if (!topology.isValidCell(startLocation) || !topology.isValidCell(endLocation)) {
+      throw new IllegalArgumentException("Start and end locations must be in the dungeon.");
+    }
+    this.topology = topology;
+    this.ends = null;
+    this.edges = Collections.unmodifiableList(new ArrayList<>(edges));
+    this.graph = graph;
+    this.distanceField = distanceField;
+    this.corridors = corridors;
+    this.startLocation = startLocation;
+    this.endLocation = endLocation;
+    this.caveCount = countCaves(topology);
+  }
+
+  /**
+   * Creates the layout of a dungeon whose edge objects and arrow corridors are created only when
+   * they are first needed.
+   *
+   * @param topology      the grid topology with the doors of every location
+   * @param ends          the cell ids of the ends of every path, 2 entries per path
+   * @param graph         the adjacency list of the paths
+   * @param distanceField the distances between the locations
+   * @param startLocation the cell id of the start location
+   * @param endLocation   the cell id of the end location
+   */
+  DungeonLayout(GridTopology topology, int[] ends, CellGraph graph, DistanceField distanceField,
+                int startLocation, int endLocation) {
+    if (topology == null || ends == null || graph == null || distanceField == null) {
+      throw new IllegalArgumentException("Layout of the dungeon cannot be incomplete.");
+    }
+    if (!topology.isValidCell(startLocation) || !topology.isValidCell(endLocation)) {
+      throw new IllegalArgumentException("Start and end locations must be in the dungeon.");
+    }
+    this.topology = topology;
+    this.ends = ends;
+    this.graph = graph;
+    this.distanceField = distanceField;
+    this.startLocation = startLocation;
+    this.endLocation = endLocation;
+    this.caveCount = countCaves(topology);
+  }
+
+  private static int countCaves(GridTopology topology) {
+    int caves = 0;
+    for (int cell = 0; cell < topology.getCellCount(); cell++) {
+      if (!topology.isTunnel(cell)) {
+        caves++;
+      }
+    }
+    return caves;
+  }
+
+  GridTopology getTopology() {
+    return topology;
+  }
+
+  List<Edge> getEdges() {
+    List<Edge> result = edges;
+    if (result == null) {
+      synchronized (this) {
+        result = edges;
+        if (result == null) {
+          List<Edge> created = new ArrayList<>(ends.length / 2);
+          for (int i = 0; i < ends.length; i += 2) {
+            created.add(new DungeonEdge(ends[i], ends[i + 1]));
+          }
+          result = Collections.unmodifiableList(created);
+          edges = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  CellGraph getGraph() {
+    return graph;
+  }
+
+  DistanceField getDistanceField() {
+    return distanceField;
+  }
+
+  CorridorTable getCorridors() {
+    CorridorTable result = corridors;
+    if (result == null) {
+      synchronized (this) {
+        result = corridors;
+        if (result == null) {
+          result = new CorridorTable(topology, graph);
+          corridors = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  int getStartLocation() {
+    return startLocation;
+  }
+
+  int getEndLocation() {
+    return endLocation;
+  }
+
+  int getCaveCount() {
+    return caveCount;
+  }
+}
@@ -0,0 +1,198 @@
+package dungeon;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+
+/**
+ * Draws the birds eye view of the dungeon as a single component. The locations are painted as
+ * tiles in {@link #paintComponent(Graphics)}, only within the area that is being repainted, and
+ * after every action of the player only the locations changed by the events of the game are
+ * repainted, instead of laying out a label for every location of the dungeon. Every location is
+ * drawn as a single tile from a {@link TileCache}, shared by the locations that look the same.
+ * Only the locations within the visible part of the map are painted, and the changed locations
+ * outside it, beyond a margin of one tile, are not repainted at all, so the cost of a frame
+ * depends on the size of the window rather than the size of the dungeon. The visited locations
+ * and the otyughs are queried once for a game and then kept up to date from its
+ * {@link GameEvent}s. The class is kept package private as it will be used only within the
+ * dungeon model package.
+ */
+class DungeonMapPanel extends JPanel {
+  private static final long serialVersionUID = 1L;
+  static final int TILE_SIZE = 64;
+  private static final int MAX_TILES = 256;
+  private static final int MARGIN = TILE_SIZE;
+  private final SpriteAtlas atlas;
+  private final TileCache tiles;
+  private GameModelReadOnly model;
+  private int rowCount;
+  private int colCount;
+  private final Set<String> visited = new HashSet<>();
+  private final Set<String> otyughs = new HashSet<>();
+  private final GameEventListener events = this::onEvent;
+  private MapChangeCollector changes;
+
+  /**
+   * Creates the map that draws its locations with the images of the given atlas.
+   *
+   * @param atlas the images of the tiles and overlays
+   */
+  DungeonMapPanel(SpriteAtlas atlas) {
+    if (atlas == null) {
+      throw new IllegalArgumentException("Atlas cannot be null.");
+    }
+    this.atlas = atlas;
+    this.tiles = new TileCache(atlas, MAX_TILES);
+    setBackground(Color.gray);
+    setOpaque(true);
+  }
+
+  /**
+   * Repaints the locations changed since the last update, or the whole map when the model, the
+   * size of the dungeon or every location has changed. The changes are collected by listening to
+   * the model, which is only read.
+   *
+   * @param model    the model of the game being played
+   * @param rowCount the no. of rows in the dungeon grid
+   * @param colCount the no. of columns in the dungeon grid
+   */
+  void update(GameModelReadOnly model, int rowCount, int colCount) {
+    if (model != this.model) {
+      if (this.model != null) {
+        this.model.removeGameEventListener(events);
+      }
+      model.addGameEventListener(events);
+    }
+    MapChanges taken = changes == null ? MapChanges.all() : changes.take();
+    if (model != this.model || rowCount != this.rowCount || colCount != this.colCount
+            || taken.isFullRedraw()) {
+      this.model = model;
+      this.rowCount = rowCount;
+      this.colCount = colCount;
+      changes = new MapChangeCollector(rowCount, colCount);
+      //the locations are queried once for the whole game, the events keep them up to date
+      visited.clear();
+      visited.addAll(model.getAllVisitedLocations());
+      otyughs.clear();
+      otyughs.addAll(model.getOtyughLocations());
+      setPreferredSize(new Dimension(TILE_SIZE * colCount, TILE_SIZE * rowCount));
+      revalidate();
+      repaint();
+      return;
+    }
+    //the changed locations that are not visible are painted when they are scrolled into view
+    Rectangle visible = getVisibleRect();
+    visible.grow(MARGIN, MARGIN);
+    for (String loc : taken.getLocations()) {
+      Rectangle tile = toTile(loc);
+      if (visible.intersects(tile)) {
+        repaint(tile);
+      }
+    }
+  }
+
+  /**
+   * Scrolls the map so that the given location is at the centre of the visible part of the map,
+   * or as close to it as the edges of the map allow.
+   *
+   * @param loc the location to be centred
+   */
+  void centreOn(String loc) {
+    if (!(getParent() instanceof JViewport)) {
+      return;
+    }
+    JViewport viewport = (JViewport) getParent();
+    //the size of the map changes with a new dungeon, before the scroll pane is laid out again
+    if (!getSize().equals(getPreferredSize())) {
+      JScrollPane pane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+      if (pane != null) {
+        pane.validate();
+      }
+    }
+    Rectangle tile = toTile(loc);
+    Dimension extent = viewport.getExtentSize();
+    Dimension size = getPreferredSize();
+    int x = tile.x + TILE_SIZE / 2 - extent.width / 2;
+    int y = tile.y + TILE_SIZE / 2 - extent.height / 2;
+    x = Math.max(0, Math.min(x, size.width - extent.width));
+    y = Math.max(0, Math.min(y, size.height - extent.height));
+    Point position = new Point(x, y);
+    if (!position.equals(viewport.getViewPosition())) {
+      viewport.setViewPosition(position);
+    }
+  }
+
+  private static Rectangle toTile(String loc) {
+    String[] s = loc.split("-");
+    return new Rectangle(Integer.parseInt(s[1]) * TILE_SIZE, Integer.parseInt(s[0]) * TILE_SIZE,
+            TILE_SIZE, TILE_SIZE);
+  }
+
+  private void onEvent(GameEvent event) {
+    if (changes != null) {
+      changes.onEvent(event);
+    }
+    if (event.getType() == GameEvent.Type.LOCATION_REVEALED) {
+      visited.add(event.getLocation());
+    } else if (event.getType() == GameEvent.Type.OTYUGH_KILLED) {
+      otyughs.remove(event.getLocation());
+    }
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+    if (model == null) {
+      return;
+    }
+    //only the locations within the area being repainted and visible are drawn
+    Rectangle clip = getVisibleRect();
+    if (g.getClipBounds() != null) {
+      clip = clip.intersection(g.getClipBounds());
+    }
+    if (clip.isEmpty()) {
+      return;
+    }
+    int firstRow = Math.max(0, clip.y / TILE_SIZE);
+    int lastRow = Math.min(rowCount - 1, (clip.y + clip.height - 1) / TILE_SIZE);
+    int firstCol = Math.max(0, clip.x / TILE_SIZE);
+    int lastCol = Math.min(colCount - 1, (clip.x + clip.width - 1) / TILE_SIZE);
+    String playerLoc = model.getPlayerLocation();
+    for (int i = firstRow; i <= lastRow; i++) {
+      for (int j = firstCol; j <= lastCol; j++) {
+        paintLocation(g, i, j, playerLoc);
+      }
+    }
+  }
+
+  private void paintLocation(Graphics g, int row, int col, String playerLoc) {
+    int x = col * TILE_SIZE;
+    int y = row * TILE_SIZE;
+    String loc = "" + row + "-" + col;
+    String nextMoves = visited.contains(loc) ? model.getNextPossibleMoves(loc) : "";
+    if (nextMoves.trim().equals("")) {
+      g.drawImage(atlas.getBlank(), x, y, null);
+      return;
+    }
+    //locations that look the same share the tile drawn with all its overlays
+    boolean hasOtyugh = otyughs.contains(loc);
+    int key = TileCache.toKey(SpriteAtlas.toDoors(nextMoves), model.getDiamondCount(loc) > 0,
+            model.getSapphireCount(loc) > 0, model.getRubyCount(loc) > 0,
+            model.getArrowCount(loc) > 0, hasOtyugh ? "" : model.getLocationSmell(loc),
+            playerLoc.equals(loc), hasOtyugh);
+    g.drawImage(tiles.getTile(key), x, y, null);
+  }
+
+  TileCache getTileCache() {
+    return tiles;
+  }
+}
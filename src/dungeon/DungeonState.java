@@ -0,0 +1,159 @@
+package dungeon;
+
+/**
+ * Represents the part of the dungeon that changes while the game is played: the items lying at
+ * every location, the health of the otyughs and the smell of the otyughs. The item counts of
+ * all the locations are kept in a {@link CellStore} with a record of 4 bytes per cell, and the
+ * otyughs and their smell are kept in primitive arrays, so a copy of the state is a handful of
+ * bulk copies irrespective of the size of the dungeon. Everything that does not change once the
+ * dungeon is created is held by the {@link DungeonLayout} shared between the copies. The class
+ * is kept package private as it will be used only within the dungeon model package.
+ */
+class DungeonState {
+  private static final int DIAMONDS = 0;
+  private static final int SAPPHIRES = 1;
+  private static final int RUBIES = 2;
+  private static final int ARROWS = 3;
+  private static final int ITEM_TYPES = 4;
+  private final int cellCount;
+  private final CellStore items;
+  private final MonsterRegistry otyughs;
+  private SmellMap smellMap;
+
+  /**
+   * Creates the state of a dungeon in which no location has any item or otyugh.
+   *
+   * @param cellCount the no. of cells in the dungeon grid
+   */
+  DungeonState(int cellCount) {
+    this(cellCount, CellStorage.heap());
+  }
+
+  /**
+   * Creates the state of a dungeon in which no location has any item or otyugh, with the item
+   * counts kept in the given storage.
+   *
+   * @param cellCount the no. of cells in the dungeon grid
+   * @param storage   the storage of the item counts
+   */
+  DungeonState(int cellCount, CellStorage storage) {
+    if (cellCount < 0) {
+      throw new IllegalArgumentException("Cell count cannot be negative.");
+    }
+    this.cellCount = cellCount;
+    this.items = storage.create(cellCount, ITEM_TYPES);
+    this.otyughs = new MonsterRegistry(cellCount);
+  }
+
+  /**
+   * Creates a copy of the state that can be changed independently of the original.
+   *
+   * @param copy the state to be copied
+   */
+  DungeonState(DungeonState copy) {
+    this.cellCount = copy.cellCount;
+    this.items = copy.items.copy();
+    this.otyughs = new MonsterRegistry(copy.otyughs);
+    this.smellMap = copy.smellMap == null ? null : new SmellMap(copy.smellMap);
+  }
+
+  /**
+   * Creates a copy of the state that reuses the item store of a state that is no longer used,
+   * instead of creating a new store.
+   *
+   * @param copy      the state to be copied
+   * @param discarded the state whose item store is overwritten with the copied items
+   */
+  DungeonState(DungeonState copy, DungeonState discarded) {
+    if (discarded == copy) {
+      throw new IllegalArgumentException("The copied state cannot be discarded.");
+    }
+    this.cellCount = copy.cellCount;
+    this.items = discarded.items;
+    this.items.copyFrom(copy.items);
+    this.otyughs = new MonsterRegistry(copy.otyughs);
+    this.smellMap = copy.smellMap == null ? null : new SmellMap(copy.smellMap);
+  }
+
+  int getCellCount() {
+    return cellCount;
+  }
+
+  int getDiamondCount(int cell) {
+    return items.get(cell, DIAMONDS);
+  }
+
+  int getSapphireCount(int cell) {
+    return items.get(cell, SAPPHIRES);
+  }
+
+  int getRubyCount(int cell) {
+    return items.get(cell, RUBIES);
+  }
+
+  int getArrowCount(int cell) {
+    return items.get(cell, ARROWS);
+  }
+
+  void setTreasure(int cell, int diamonds, int sapphires, int rubies) {
+    items.set(cell, DIAMONDS, toCount(diamonds));
+    items.set(cell, SAPPHIRES, toCount(sapphires));
+    items.set(cell, RUBIES, toCount(rubies));
+  }
+
+  void setArrowCount(int cell, int arrows) {
+    items.set(cell, ARROWS, toCount(arrows));
+  }
+
+  void removeDiamonds(int cell, int count) {
+    items.set(cell, DIAMONDS, (byte) (items.get(cell, DIAMONDS) - count));
+  }
+
+  void removeSapphires(int cell, int count) {
+    items.set(cell, SAPPHIRES, (byte) (items.get(cell, SAPPHIRES) - count));
+  }
+
+  void removeRubies(int cell, int count) {
+    items.set(cell, RUBIES, (byte) (items.get(cell, RUBIES) - count));
+  }
+
+  void removeArrows(int cell, int count) {
+    items.set(cell, ARROWS, (byte) (items.get(cell, ARROWS) - count));
+  }
+
+  private byte toCount(int count) {
+    if (count < 0 || count > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Item count must be between 0 and " + Byte.MAX_VALUE
+              + ".");
+    }
+    return (byte) count;
+  }
+
+  MonsterRegistry getOtyughs() {
+    return otyughs;
+  }
+
+  SmellMap getSmellMap() {
+    return smellMap;
+  }
+
+  /**
+   * Computes the smell of the otyughs at every location. It is called once all the otyughs
+   * have been added, after which the smell is updated as the otyughs are killed.
+   *
+   * @param topology the grid topology of the dungeon
+   */
+  void createSmellMap(GridTopology topology) {
+    smellMap = new SmellMap(topology, otyughs.getMonsters());
+  }
+
+  /**
+   * Sets the smell of the otyughs at every location to levels computed before.
+   *
+   * @param topology the grid topology of the dungeon
+   * @param levels   the smell level of every location
+   */
+  void restoreSmellMap(GridTopology topology, byte[] levels) {
+    smellMap = new SmellMap(topology, otyughs.getMonsters(), levels);
+  }
+}
@@ -8,17 +8,17 @@ package dungeon;
 interface Edge {
 
   /**
-   * Gets the p1 vertex of the edge.
+   * Gets the cell id of the p1 vertex of the edge.
    *
    * @return the vertex of the edge
    */
-  String getP1();
+  int getP1();
 
   /**
-   * Gets the p2 vertex of the edge.
+   * Gets the cell id of the p2 vertex of the edge.
    *
    * @return the vertex of the edge
    */
-  String getP2();
+  int getP2();
 
 }
@@ -0,0 +1,140 @@
+package dungeon;
+
+/**
+ * Represents a single action taken by the player, which can be a move, picking up an item or
+ * shooting an arrow. A sequence of actions can be performed in one call using
+ * {@link GameModel#performActions(java.util.List)}, which returns one int result per action. The
+ * actions are immutable and can be reused across games.
+ */
+public final class GameAction {
+
+  /**
+   * Result of an action that was not performed because the game was already over.
+   */
+  public static final int SKIPPED = -3;
+
+  /**
+   * Result of an action that is not valid at the current location of the player, such as a move
+   * through a wall or picking more items than are available.
+   */
+  public static final int INVALID = -2;
+
+  /**
+   * Result of a shot when the player has no arrows left.
+   */
+  public static final int NO_ARROWS = -1;
+
+  /**
+   * Represents the types of action the player can take.
+   */
+  public enum Type {
+    MOVE, PICK, SHOOT
+  }
+
+  /**
+   * Represents the items that can be picked up by the player.
+   */
+  public enum Item {
+    DIAMONDS, SAPPHIRES, RUBIES, ARROWS, ALL_TREASURE, ALL_ARROWS
+  }
+
+  private final Type type;
+  private final Direction direction;
+  private final Item item;
+  private final int count;
+
+  private GameAction(Type type, Direction direction, Item item, int count) {
+    this.type = type;
+    this.direction = direction;
+    this.item = item;
+    this.count = count;
+  }
+
+  /**
+   * Creates the action of moving the player. The result of the action is 1 if the player moved
+   * and is alive, 0 if the player was eaten by an otyugh and {@link #INVALID} if there is no door
+   * in the direction.
+   *
+   * @param direction the direction in which the player is to be moved
+   * @return the move action
+   */
+  public static GameAction move(Direction direction) {
+    if (direction == null) {
+      throw new IllegalArgumentException("Direction cannot be null.");
+    }
+    return new GameAction(Type.MOVE, direction, null, 0);
+  }
+
+  /**
+   * Creates the action of picking all the items of the given kind at the location of the
+   * player. The result of the action is the no. of items picked, {@link #INVALID} if there are
+   * none.
+   *
+   * @param item the item to be picked, {@link Item#ALL_TREASURE} picks all the treasure
+   * @return the pick action
+   */
+  public static GameAction pickAll(Item item) {
+    return pick(item, 0);
+  }
+
+  /**
+   * Creates the action of picking the given quantity of an item at the location of the player.
+   * The result of the action is the no. of items picked, {@link #INVALID} if the quantity is not
+   * available.
+   *
+   * @param item  the item to be picked
+   * @param count the quantity to be picked, ignored for {@link Item#ALL_TREASURE} and
+   *              {@link Item#ALL_ARROWS}
+   * @return the pick action
+   */
+  public static GameAction pick(Item item, int count) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item cannot be null.");
+    }
+    return new GameAction(Type.PICK, null, item, count);
+  }
+
+  /**
+   * Creates the action of shooting an arrow. The result of the action is the same as the
+   * result of {@link GameModel#shootArrow(String, int)}, or {@link #INVALID} if the direction or
+   * distance is not valid.
+   *
+   * @param direction the direction in which the arrow is shot
+   * @param distance  the distance(no of caves) through which the arrow is shot through
+   * @return the shoot action
+   */
+  public static GameAction shoot(Direction direction, int distance) {
+    if (direction == null) {
+      throw new IllegalArgumentException("Direction cannot be null.");
+    }
+    return new GameAction(Type.SHOOT, direction, null, distance);
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public Direction getDirection() {
+    return direction;
+  }
+
+  public Item getItem() {
+    return item;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  @Override
+  public String toString() {
+    switch (type) {
+      case MOVE:
+        return "M" + direction;
+      case PICK:
+        return "P" + item + (count > 0 ? count : "");
+      default:
+        return "S" + direction + count;
+    }
+  }
+}
@@ -16,6 +16,7 @@ public interface GameControllerSwing {
 
   /**
    * Creates a new game model using the parameters supplied by the user so the game can be started.
+   * The game may be started after this method returns, once its dungeon is generated.
    *
    * @param rowCount                the no. of rows in the dungeon grid
    * @param colCount                the no. of columns in the dungeon grid
@@ -27,6 +28,7 @@ public interface GameControllerSwing {
    *                                be assigned.
    * @param otyughCount             indicates the difficulty level of the game based on the
    *                                number of otyughs present in the dungeon.
+   * @throws IllegalArgumentException if the parameters of the dungeon are not valid
    */
   void createModel(int rowCount, int colCount, int degCount, boolean isWrap, int percentage,
                    int otyughCount);
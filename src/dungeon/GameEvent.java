@@ -0,0 +1,82 @@
+package dungeon;
+
+/**
+ * Represents a single change in a game, published by the game to its
+ * {@link GameEventListener}s as soon as it happens, so that the listeners can update only what
+ * the change affects instead of querying the whole game again. The events are immutable.
+ */
+public final class GameEvent {
+
+  /**
+   * Represents the types of change in a game.
+   */
+  public enum Type {
+    /**
+     * The player was added at the start location of a new or restarted game.
+     */
+    GAME_STARTED,
+    /**
+     * The player moved from the previous location to the location of the event.
+     */
+    PLAYER_MOVED,
+    /**
+     * The player visited the location for the first time in the game.
+     */
+    LOCATION_REVEALED,
+    /**
+     * The player picked up treasure or arrows at the location.
+     */
+    ITEMS_CHANGED,
+    /**
+     * An arrow hit the otyugh at the location without killing it.
+     */
+    OTYUGH_DAMAGED,
+    /**
+     * An arrow killed the otyugh at the location, which changes the smell of the locations
+     * within two moves of it.
+     */
+    OTYUGH_KILLED,
+    /**
+     * The player reached the end location or was eaten at the location.
+     */
+    GAME_OVER
+  }
+
+  private final Type type;
+  private final String location;
+  private final String previousLocation;
+
+  GameEvent(Type type, String location, String previousLocation) {
+    this.type = type;
+    this.location = location;
+    this.previousLocation = previousLocation;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Gets the location at which the change happened.
+   *
+   * @return the location as "row-col"
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  /**
+   * Gets the location the player moved from.
+   *
+   * @return the previous location of the player for {@link Type#PLAYER_MOVED}, null for the
+   *         other types
+   */
+  public String getPreviousLocation() {
+    return previousLocation;
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + (previousLocation == null ? "" : previousLocation + "->") + location;
+  }
+}
@@ -0,0 +1,16 @@
+package dungeon;
+
+/**
+ * Receives the changes of a game as they happen. The events are published on the thread that
+ * performs the action on the game, which is the event dispatch thread for the swing game, after
+ * the game has been updated, so the game can be queried from the listener.
+ */
+public interface GameEventListener {
+
+  /**
+   * Called when the game changes.
+   *
+   * @param event the change
+   */
+  void onEvent(GameEvent event);
+}
@@ -119,6 +119,17 @@ public interface GameModel {
    */
   int shootArrow(String direction, int distance);
 
+  /**
+   * Performs the actions one after the other for the player, stopping once the game is over.
+   * The player is validated only once for the whole sequence, and an action that is not valid
+   * does not stop the sequence, it only gets the result {@link GameAction#INVALID}.
+   *
+   * @param actions the actions to be performed in order
+   * @return the result of every action in the same order, {@link GameAction#SKIPPED} for the
+   *         actions that were not performed because the game was over
+   */
+  int[] performActions(List<GameAction> actions);
+
   /**
    * The start location in the dungeon.
    *
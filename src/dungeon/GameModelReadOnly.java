@@ -107,4 +107,19 @@ public interface GameModelReadOnly {
    * @return list of all otyughs location in the dungeon
    */
   List<String> getOtyughLocations();
+
+  /**
+   * Subscribes a listener to the changes of the game, which are published to it as they happen
+   * until it is removed.
+   *
+   * @param listener the listener of the changes
+   */
+  void addGameEventListener(GameEventListener listener);
+
+  /**
+   * Removes a listener from the changes of the game.
+   *
+   * @param listener the listener to be removed
+   */
+  void removeGameEventListener(GameEventListener listener);
 }
@@ -0,0 +1,399 @@
+package dungeon;
+
+import randoms.RandomGenerator;
+import randoms.Randomizer;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves a game to a file in a compact binary format and loads it back, without generating the
+ * dungeon again. The file holds the parameters of the dungeon, the doors of every location, its
+ * paths in the order they were created, the start and end locations, the items, otyughs and
+ * smell of the dungeon as it was created, the locations whose items and the otyughs whose health
+ * changed since, and the player. Only the arrow corridors are derived from the paths, in the
+ * same way as when the dungeon was generated, when the first arrow of the loaded game is shot,
+ * so a loaded game plays exactly like the saved one, except for the random outcome of entering
+ * the cave of an injured otyugh.
+ *
+ * <p>The doors of every location are packed in 4 bits and its smell in 2 bits, the cell ids and
+ * paths are written with as few bytes as the size of the dungeon needs, and the item counts of
+ * every location are packed in 2 bytes when all of them are below 16, so a 1000x1000 dungeon
+ * takes about 6 MB. Every file starts with a magic number and the version of the format, and
+ * files of an unknown version are rejected.
+ */
+public final class GameSnapshot {
+  private static final int MAGIC = 0x44474D45;
+  private static final short VERSION = 1;
+  private static final Direction[] DIRECTIONS = GridTopology.DIRECTIONS;
+  private static final int NIBBLE_LIMIT = 16;
+  private static final int SMELLS_PER_BYTE = 4;
+
+  private GameSnapshot() {
+  }
+
+  /**
+   * Saves the game to the file, replacing the file if it exists.
+   *
+   * @param game the game to be saved
+   * @param file the file to which the game is saved
+   * @throws IOException if the file could not be written
+   */
+  public static void save(DungeonGame game, Path file) throws IOException {
+    if (game == null || file == null) {
+      throw new IllegalArgumentException("Game and file cannot be null.");
+    }
+    ByteBuffer buffer = encode(game);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Loads a game saved to the file.
+   *
+   * @param file the file to which the game was saved
+   * @return the loaded game
+   * @throws IOException if the file could not be read or does not hold a valid game
+   */
+  public static DungeonGame load(Path file) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("File cannot be null.");
+    }
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Snapshot is too large.");
+      }
+      buffer = ByteBuffer.allocate((int) channel.size());
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          throw new IOException("Snapshot is truncated.");
+        }
+      }
+    }
+    buffer.flip();
+    try {
+      return decode(buffer);
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Snapshot is truncated.", e);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Snapshot is corrupt: " + e.getMessage(), e);
+    }
+  }
+
+  static ByteBuffer encode(DungeonGame game) {
+    MasterDungeon initial = game.getInitialDungeon();
+    MasterDungeon current = game.getDungeon();
+    GridTopology topology = initial.getTopology();
+    int cellCount = topology.getCellCount();
+    int cellWidth = widthOf(cellCount - 1);
+    int edgeWidth = widthOf(cellCount * 4L - 1);
+    List<Edge> edges = initial.getEdges();
+    DungeonState initialState = initial.getState();
+    DungeonState currentState = current.getState();
+    boolean packed = isPackable(initialState);
+    List<Integer> changed = new ArrayList<>();
+    for (int cell = 0; cell < cellCount; cell++) {
+      if (!sameItems(initialState, currentState, cell)) {
+        changed.add(cell);
+      }
+    }
+    List<Monster> otyughs = initialState.getOtyughs().getMonsters();
+    Player p = game.getPlayer();
+    List<Integer> visited = p == null ? new ArrayList<>() : p.getVisitedLocations();
+
+    int size = 4 + 2 + 4 * 6 + 1 + 4 * 2
+            + (cellCount + 1) / 2
+            + 4 + 1 + edges.size() * edgeWidth
+            + 1 + cellCount * (packed ? 2 : 4)
+            + 4 + otyughs.size() * (cellWidth + 1)
+            + (cellCount + SMELLS_PER_BYTE - 1) / SMELLS_PER_BYTE
+            + 4 + changed.size() * (cellWidth + 4) + otyughs.size()
+            + 1 + (p == null ? 0 : 4 * 6 + visited.size() * cellWidth) + 1;
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+
+    //header and parameters of the dungeon
+    buffer.putInt(MAGIC);
+    buffer.putShort(VERSION);
+    buffer.putInt(topology.getRowCount());
+    buffer.putInt(topology.getColCount());
+    buffer.putInt(initial.getDegOfInterconnectivity());
+    buffer.putInt(initial.getPercentCavesForTreasure());
+    buffer.putInt(initial.getOtyughCount());
+    buffer.putInt(cellCount);
+    buffer.put((byte) (topology.isWrap() ? 1 : 0));
+    buffer.putInt(initial.getStartLocation());
+    buffer.putInt(initial.getEndLocation());
+
+    //doors of 2 locations per byte
+    for (int cell = 0; cell < cellCount; cell += 2) {
+      int second = cell + 1 < cellCount ? topology.getDoors(cell + 1) : 0;
+      buffer.put((byte) (topology.getDoors(cell) << 4 | second));
+    }
+
+    //paths, each as the cell it starts from and the direction of the cell it leads to
+    buffer.putInt(edges.size());
+    buffer.put((byte) edgeWidth);
+    for (Edge e : edges) {
+      Direction dir = topology.getDirection(e.getP1(), e.getP2());
+      if (dir == null) {
+        throw new IllegalStateException("Path does not join neighbouring locations.");
+      }
+      putWide(buffer, e.getP1() * 4 + dir.ordinal(), edgeWidth);
+    }
+
+    //items and otyughs as the dungeon was created
+    buffer.put((byte) (packed ? 1 : 0));
+    for (int cell = 0; cell < cellCount; cell++) {
+      if (packed) {
+        buffer.put((byte) (initialState.getDiamondCount(cell) << 4
+                | initialState.getSapphireCount(cell)));
+        buffer.put((byte) (initialState.getRubyCount(cell) << 4
+                | initialState.getArrowCount(cell)));
+      } else {
+        buffer.put((byte) initialState.getDiamondCount(cell));
+        buffer.put((byte) initialState.getSapphireCount(cell));
+        buffer.put((byte) initialState.getRubyCount(cell));
+        buffer.put((byte) initialState.getArrowCount(cell));
+      }
+    }
+    buffer.putInt(otyughs.size());
+    for (Monster o : otyughs) {
+      putWide(buffer, o.getLocation(), cellWidth);
+      buffer.put((byte) o.getHealth());
+    }
+    SmellMap smell = initialState.getSmellMap();
+    for (int cell = 0; cell < cellCount; cell += SMELLS_PER_BYTE) {
+      int levels = 0;
+      for (int i = 0; i < SMELLS_PER_BYTE; i++) {
+        levels = levels << 2 | (cell + i < cellCount ? smell.getLevel(cell + i) : 0);
+      }
+      buffer.put((byte) levels);
+    }
+
+    //items picked and otyughs injured since
+    buffer.putInt(changed.size());
+    for (int cell : changed) {
+      putWide(buffer, cell, cellWidth);
+      buffer.put((byte) currentState.getDiamondCount(cell));
+      buffer.put((byte) currentState.getSapphireCount(cell));
+      buffer.put((byte) currentState.getRubyCount(cell));
+      buffer.put((byte) currentState.getArrowCount(cell));
+    }
+    for (Monster o : otyughs) {
+      buffer.put((byte) currentState.getOtyughs().getHealth(o.getLocation()));
+    }
+
+    //player
+    buffer.put((byte) (p == null ? 0 : 1));
+    if (p != null) {
+      buffer.putInt(p.getDiamondCount());
+      buffer.putInt(p.getSapphireCount());
+      buffer.putInt(p.getRubyCount());
+      buffer.putInt(p.getArrowCount());
+      buffer.putInt(p.getLocation());
+      buffer.putInt(visited.size());
+      for (int cell : visited) {
+        putWide(buffer, cell, cellWidth);
+      }
+    }
+    buffer.put((byte) (game.isPlayerDead() ? 1 : 0));
+    buffer.flip();
+    return buffer;
+  }
+
+  static DungeonGame decode(ByteBuffer buffer) throws IOException {
+    if (buffer.getInt() != MAGIC) {
+      throw new IOException("Not a saved game.");
+    }
+    short version = buffer.getShort();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version of saved game: " + version);
+    }
+    int rowCount = buffer.getInt();
+    int colCount = buffer.getInt();
+    int deg = buffer.getInt();
+    int percentage = buffer.getInt();
+    int otyughCount = buffer.getInt();
+    int cellCount = buffer.getInt();
+    boolean isWrap = buffer.get() == 1;
+    int start = buffer.getInt();
+    int end = buffer.getInt();
+    MasterDungeon.checkParameters(rowCount, colCount, deg, isWrap, percentage, otyughCount);
+    if ((long) rowCount * colCount != cellCount) {
+      throw new IllegalArgumentException("Dimensions do not match the no. of locations.");
+    }
+    int cellWidth = widthOf(cellCount - 1);
+
+    GridTopology topology = new GridTopology(rowCount, colCount, isWrap);
+    for (int cell = 0; cell < cellCount; cell += 2) {
+      int doors = buffer.get() & 0xFF;
+      topology.openDoors(cell, doors >>> 4);
+      if (cell + 1 < cellCount) {
+        topology.openDoors(cell + 1, doors & 0xF);
+      }
+    }
+    int edgeCount = buffer.getInt();
+    int edgeWidth = buffer.get();
+    if (edgeCount < 0 || edgeCount > cellCount * 2L
+            || edgeWidth != widthOf(cellCount * 4L - 1)) {
+      throw new IllegalArgumentException("Invalid paths.");
+    }
+    int[] ends = new int[edgeCount * 2];
+    for (int i = 0; i < edgeCount; i++) {
+      int code = getWide(buffer, edgeWidth);
+      int from = checkCell(code >>> 2, cellCount);
+      int to = topology.getNeighbour(from, DIRECTIONS[code & 3]);
+      if (to == -1) {
+        throw new IllegalArgumentException("Path leads out of the dungeon.");
+      }
+      ends[2 * i] = from;
+      ends[2 * i + 1] = to;
+    }
+
+    DungeonState initialState = new DungeonState(cellCount);
+    boolean packed = buffer.get() == 1;
+    for (int cell = 0; cell < cellCount; cell++) {
+      if (packed) {
+        int treasure = buffer.get() & 0xFF;
+        int rest = buffer.get() & 0xFF;
+        initialState.setTreasure(cell, treasure >>> 4, treasure & 0xF, rest >>> 4);
+        initialState.setArrowCount(cell, rest & 0xF);
+      } else {
+        initialState.setTreasure(cell, buffer.get(), buffer.get(), buffer.get());
+        initialState.setArrowCount(cell, buffer.get());
+      }
+    }
+    int monsterCount = buffer.getInt();
+    if (monsterCount < 0 || monsterCount > cellCount) {
+      throw new IllegalArgumentException("Invalid no. of otyughs.");
+    }
+    int[] monsters = new int[monsterCount];
+    for (int i = 0; i < monsterCount; i++) {
+      monsters[i] = checkCell(getWide(buffer, cellWidth), cellCount);
+      initialState.getOtyughs().add(monsters[i], buffer.get());
+    }
+    byte[] levels = new byte[cellCount];
+    for (int cell = 0; cell < cellCount; cell += SMELLS_PER_BYTE) {
+      int packedLevels = buffer.get() & 0xFF;
+      for (int i = SMELLS_PER_BYTE - 1; i >= 0; i--) {
+        if (cell + i < cellCount) {
+          levels[cell + i] = (byte) (packedLevels & 3);
+          if (levels[cell + i] > SmellMap.TERRIBLE) {
+            throw new IllegalArgumentException("Invalid smell.");
+          }
+        }
+        packedLevels >>>= 2;
+      }
+    }
+    initialState.restoreSmellMap(topology, levels);
+
+    Randomizer r = new RandomGenerator();
+    MasterDungeon initial = new MasterDungeon(deg, percentage, otyughCount, topology, ends,
+            start, end, initialState, r);
+
+    DungeonState currentState = new DungeonState(initialState);
+    int changedCount = buffer.getInt();
+    for (int i = 0; i < changedCount; i++) {
+      int cell = checkCell(getWide(buffer, cellWidth), cellCount);
+      currentState.setTreasure(cell, buffer.get(), buffer.get(), buffer.get());
+      currentState.setArrowCount(cell, buffer.get());
+    }
+    MonsterRegistry otyughs = currentState.getOtyughs();
+    for (int cell : monsters) {
+      int health = buffer.get();
+      if (health > otyughs.getHealth(cell)) {
+        throw new IllegalArgumentException("Otyugh is healthier than when it was created.");
+      }
+      //the otyughs only lose health, one strike at a time, and stop smelling once killed
+      while (otyughs.getHealth(cell) > health) {
+        otyughs.strike(cell);
+      }
+      if (health == 0) {
+        currentState.getSmellMap().removeOtyugh(cell);
+      }
+    }
+    MasterDungeon current = new MasterDungeon(initial, r, currentState);
+
+    Player p = null;
+    if (buffer.get() == 1) {
+      int diamonds = buffer.getInt();
+      int sapphires = buffer.getInt();
+      int rubies = buffer.getInt();
+      int arrows = buffer.getInt();
+      int location = buffer.getInt();
+      int visitedCount = buffer.getInt();
+      if (visitedCount < 0 || visitedCount > cellCount) {
+        throw new IllegalArgumentException("Invalid no. of visited locations.");
+      }
+      p = new MasterDungeonPlayer(diamonds, sapphires, rubies, -1, arrows);
+      for (int i = 0; i < visitedCount; i++) {
+        p.setLocation(checkCell(getWide(buffer, cellWidth), cellCount));
+      }
+      if (location != -1) {
+        p.setLocation(checkCell(location, cellCount));
+      }
+    }
+    boolean playerDead = buffer.get() == 1;
+    return new DungeonGame(current, initial, p, playerDead);
+  }
+
+  private static boolean isPackable(DungeonState state) {
+    for (int cell = 0; cell < state.getCellCount(); cell++) {
+      if (state.getDiamondCount(cell) >= NIBBLE_LIMIT
+              || state.getSapphireCount(cell) >= NIBBLE_LIMIT
+              || state.getRubyCount(cell) >= NIBBLE_LIMIT
+              || state.getArrowCount(cell) >= NIBBLE_LIMIT) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean sameItems(DungeonState a, DungeonState b, int cell) {
+    return a.getDiamondCount(cell) == b.getDiamondCount(cell)
+            && a.getSapphireCount(cell) == b.getSapphireCount(cell)
+            && a.getRubyCount(cell) == b.getRubyCount(cell)
+            && a.getArrowCount(cell) == b.getArrowCount(cell);
+  }
+
+  private static int checkCell(int cell, int cellCount) {
+    if (cell < 0 || cell >= cellCount) {
+      throw new IllegalArgumentException("Location does not exist in the dungeon.");
+    }
+    return cell;
+  }
+
+  //the no. of bytes needed to write the values from 0 to max
+  private static int widthOf(long max) {
+    int width = 1;
+    while (width < 4 && max >= 1L << (8 * width)) {
+      width++;
+    }
+    return width;
+  }
+
+  private static void putWide(ByteBuffer buffer, int value, int width) {
+    for (int shift = 8 * (width - 1); shift >= 0; shift -= 8) {
+      buffer.put((byte) (value >>> shift));
+    }
+  }
+
+  private static int getWide(ByteBuffer buffer, int width) {
+    int value = 0;
+    for (int i = 0; i < width; i++) {
+      value = (value << 8) | (buffer.get() & 0xFF);
+    }
+    return value;
+  }
+}
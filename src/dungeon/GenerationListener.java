@@ -0,0 +1,31 @@
+package dungeon;
+
+/**
+ * Receives the progress and the outcome of a dungeon being generated by the
+ * {@link DungeonGeneratorService}. The methods are called on the callback executor of the
+ * service, which is the event dispatch thread for the swing game.
+ */
+public interface GenerationListener {
+
+  /**
+   * Called with the progress of generating a very large dungeon, smaller dungeons are generated
+   * without reporting their progress.
+   *
+   * @param percent the percentage of the generation that is done, from 0 to 100
+   */
+  void onProgress(int percent);
+
+  /**
+   * Called when the game is ready to be played.
+   *
+   * @param game the new game
+   */
+  void onGenerated(DungeonGame game);
+
+  /**
+   * Called when the dungeon could not be generated.
+   *
+   * @param e the reason the generation failed
+   */
+  void onFailed(RuntimeException e);
+}
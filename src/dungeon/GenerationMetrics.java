@@ -0,0 +1,215 @@
+package dungeon;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Records what the generation of a dungeon cost: the wall time and the heap allocated by every
+ * {@link GenerationStage}, and the counts of the work done by the stages, that is the edges
+ * considered by the maze carver, the caves tried and the distance searches run to find the start
+ * and end locations, and the random draws rejected while assigning the otyughs, treasure and
+ * arrows. The allocations are measured with the allocation counter of the generating thread,
+ * where the virtual machine supports it and has the management modules. The metrics are
+ * recorded by the generating thread and can be queried from any thread.
+ */
+public final class GenerationMetrics {
+  //checked here, as the counter of the holder class cannot be loaded without the module
+  private static final boolean ALLOCATIONS_MEASURED =
+          ModuleLayer.boot().findModule("jdk.management").isPresent()
+                  && AllocationCounter.isEnabled();
+  private static final GenerationStage[] STAGES = GenerationStage.values();
+  private final long[] stageNanos = new long[STAGES.length];
+  private final long[] stageAllocatedBytes = new long[STAGES.length];
+  private long edgesConsidered;
+  private long terminalAttempts;
+  private long terminalSearches;
+  private long otyughRetries;
+  private long treasureRetries;
+  private long arrowRetries;
+
+  /**
+   * Checks if the heap allocated by the stages is measured.
+   *
+   * @return true if the virtual machine counts the allocations of every thread
+   */
+  public static boolean isAllocationMeasured() {
+    return ALLOCATIONS_MEASURED;
+  }
+
+  public synchronized long getStageNanos(GenerationStage stage) {
+    return stageNanos[stage.ordinal()];
+  }
+
+  /**
+   * Gets the heap allocated by a stage.
+   *
+   * @param stage the stage
+   * @return the allocated bytes, -1 if the allocations are not measured
+   */
+  public synchronized long getStageAllocatedBytes(GenerationStage stage) {
+    return ALLOCATIONS_MEASURED ? stageAllocatedBytes[stage.ordinal()] : -1;
+  }
+
+  /**
+   * Gets the time taken by all the completed stages.
+   *
+   * @return the time in nanoseconds
+   */
+  public synchronized long getTotalNanos() {
+    long total = 0;
+    for (long nanos : stageNanos) {
+      total += nanos;
+    }
+    return total;
+  }
+
+  /**
+   * Gets the heap allocated by all the completed stages.
+   *
+   * @return the allocated bytes, -1 if the allocations are not measured
+   */
+  public synchronized long getTotalAllocatedBytes() {
+    if (!ALLOCATIONS_MEASURED) {
+      return -1;
+    }
+    long total = 0;
+    for (long bytes : stageAllocatedBytes) {
+      total += bytes;
+    }
+    return total;
+  }
+
+  /**
+   * Gets the no. of edges of the grid that the maze carver considered.
+   *
+   * @return the no. of edges
+   */
+  public synchronized long getEdgesConsidered() {
+    return edgesConsidered;
+  }
+
+  /**
+   * Gets the no. of random locations that were tried as the start location.
+   *
+   * @return the no. of attempts
+   */
+  public synchronized long getTerminalAttempts() {
+    return terminalAttempts;
+  }
+
+  /**
+   * Gets the no. of breadth first searches that were run to find the end location, the
+   * distances from a location tried before are not searched again.
+   *
+   * @return the no. of searches
+   */
+  public synchronized long getTerminalSearches() {
+    return terminalSearches;
+  }
+
+  /**
+   * Gets the no. of random locations that were drawn for an otyugh and rejected because they
+   * were a tunnel, the start or had an otyugh already.
+   *
+   * @return the no. of rejected draws
+   */
+  public synchronized long getOtyughRetries() {
+    return otyughRetries;
+  }
+
+  /**
+   * Gets the no. of random locations that were drawn for treasure and rejected because they
+   * were a tunnel or had treasure already.
+   *
+   * @return the no. of rejected draws
+   */
+  public synchronized long getTreasureRetries() {
+    return treasureRetries;
+  }
+
+  /**
+   * Gets the no. of random locations that were drawn for arrows and rejected because they had
+   * arrows already.
+   *
+   * @return the no. of rejected draws
+   */
+  public synchronized long getArrowRetries() {
+    return arrowRetries;
+  }
+
+  synchronized void recordStage(GenerationStage stage, long nanos, long allocatedBytes) {
+    stageNanos[stage.ordinal()] = nanos;
+    stageAllocatedBytes[stage.ordinal()] = allocatedBytes;
+  }
+
+  synchronized void recordEdgesConsidered(long count) {
+    edgesConsidered += count;
+  }
+
+  synchronized void recordTerminals(long attempts, long searches) {
+    terminalAttempts += attempts;
+    terminalSearches += searches;
+  }
+
+  synchronized void recordOtyughRetries(long count) {
+    otyughRetries += count;
+  }
+
+  synchronized void recordTreasureRetries(long count) {
+    treasureRetries += count;
+  }
+
+  synchronized void recordArrowRetries(long count) {
+    arrowRetries += count;
+  }
+
+  /**
+   * Gets the heap allocated so far by the calling thread.
+   *
+   * @return the allocated bytes, 0 if the allocations are not measured
+   */
+  static long getAllocatedBytes() {
+    if (!ALLOCATIONS_MEASURED) {
+      return 0;
+    }
+    return AllocationCounter.getAllocatedBytes();
+  }
+
+  /**
+   * Holds the thread bean of the management modules, so that it is loaded only once the modules
+   * are known to be present.
+   */
+  private static final class AllocationCounter {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static boolean isEnabled() {
+      if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+        return false;
+      }
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+      return threads.isThreadAllocatedMemorySupported()
+              && threads.isThreadAllocatedMemoryEnabled();
+    }
+
+    private static long getAllocatedBytes() {
+      return ((com.sun.management.ThreadMXBean) THREADS)
+              .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder s = new StringBuilder();
+    for (GenerationStage stage : STAGES) {
+      s.append(String.format("%s: %.1f ms", stage, stageNanos[stage.ordinal()] / 1e6));
+      if (ALLOCATIONS_MEASURED) {
+        s.append(String.format(", %.1f MB", stageAllocatedBytes[stage.ordinal()] / 1e6));
+      }
+      s.append(" | ");
+    }
+    return s.append(String.format("edges: %d | terminal attempts: %d | terminal searches: %d | "
+                    + "retries otyughs: %d, treasure: %d, arrows: %d", edgesConsidered,
+            terminalAttempts, terminalSearches, otyughRetries, treasureRetries, arrowRetries))
+            .toString();
+  }
+}
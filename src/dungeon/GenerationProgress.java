@@ -0,0 +1,135 @@
+package dungeon;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
+
+/**
+ * Tracks a dungeon being generated: the stage it is in, the {@link GenerationMetrics} of the
+ * stages and the percentage of the generation that is done. Every stage is also recorded as a
+ * flight recorder event when a recording enables it. The generation can be cancelled from any
+ * thread, it then stops with a {@link CancellationException} at the next point at which it
+ * checks, which is the start of every stage and regularly within the long running stages. A
+ * progress is used for the generation of a single game.
+ */
+public final class GenerationProgress {
+  //the long running stages check for cancellation every so many steps
+  static final int CHECK_INTERVAL = 1 << 14;
+  private static final GenerationStage[] STAGES = GenerationStage.values();
+  //checked here, as reading a field of the event class would load it and its missing superclass
+  private static final boolean FLIGHT_RECORDER =
+          ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+  private final IntConsumer listener;
+  private final GenerationMetrics metrics = new GenerationMetrics();
+  private volatile boolean cancelled;
+  private volatile GenerationStage currentStage;
+  private volatile int percentDone;
+
+  /**
+   * Creates the progress of a generation whose progress is only queried.
+   */
+  public GenerationProgress() {
+    this(percent -> { });
+  }
+
+  /**
+   * Creates the progress of a generation that reports its progress as every stage completes.
+   *
+   * @param listener receives the percentage that is done, on the generating thread
+   */
+  public GenerationProgress(IntConsumer listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+    this.listener = listener;
+  }
+
+  /**
+   * Asks the generation to stop at the next point at which it checks.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Gets the stage being run.
+   *
+   * @return the current stage, null if the generation has not started or is over
+   */
+  public GenerationStage getCurrentStage() {
+    return currentStage;
+  }
+
+  public int getPercentDone() {
+    return percentDone;
+  }
+
+  /**
+   * Gets the time taken by a stage.
+   *
+   * @param stage the stage
+   * @return the time in nanoseconds, 0 if the stage has not completed
+   */
+  public long getStageNanos(GenerationStage stage) {
+    return metrics.getStageNanos(stage);
+  }
+
+  /**
+   * Gets the time taken by all the completed stages.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getTotalNanos() {
+    return metrics.getTotalNanos();
+  }
+
+  public GenerationMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Runs a stage of the generation, timing it and reporting the progress once it completes.
+   *
+   * @param stage the stage
+   * @param work  the work of the stage
+   * @throws CancellationException if the generation has been cancelled
+   */
+  void run(GenerationStage stage, Runnable work) {
+    checkCancelled();
+    currentStage = stage;
+    Object event = FLIGHT_RECORDER ? GenerationStageEvent.start() : null;
+    long allocated = GenerationMetrics.getAllocatedBytes();
+    long start = System.nanoTime();
+    try {
+      work.run();
+    } finally {
+      currentStage = null;
+    }
+    long nanos = System.nanoTime() - start;
+    allocated = GenerationMetrics.getAllocatedBytes() - allocated;
+    metrics.recordStage(stage, nanos, allocated);
+    if (event != null) {
+      GenerationStageEvent.finish(event, stage, allocated);
+    }
+    int done = 0;
+    for (int i = 0; i <= stage.ordinal(); i++) {
+      done += STAGES[i].getWeight();
+    }
+    percentDone = done;
+    listener.accept(done);
+  }
+
+  /**
+   * Stops the generation if it has been cancelled.
+   *
+   * @throws CancellationException if the generation has been cancelled
+   */
+  void checkCancelled() {
+    if (cancelled) {
+      throw new CancellationException("Dungeon generation was cancelled.");
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package dungeon;
+
+/**
+ * Represents the stages in which a dungeon is generated, in the order they run. Every stage has
+ * a weight, its usual share of the generation time in percent, which is used to report the
+ * progress of a generation.
+ */
+public enum GenerationStage {
+  EDGES(5), MAZE(60), INTERCONNECTIVITY(2), CAVES(12), TERMINALS(10), OTYUGHS(6), TREASURE(3),
+  ARROWS(2);
+
+  private final int weight;
+
+  GenerationStage(int weight) {
+    this.weight = weight;
+  }
+
+  int getWeight() {
+    return weight;
+  }
+}
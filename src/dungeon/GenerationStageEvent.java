@@ -0,0 +1,61 @@
+package dungeon;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a stage of the generation of a dungeon as a flight recorder event, so that the
+ * generation cost can be monitored in a running game with the flight recorder. The events are
+ * only recorded when a recording enables them. The event is created only through the static
+ * methods, which take and return plain objects, and the class is only touched after
+ * {@link GenerationProgress} has checked that the flight recorder is present, so the generation
+ * still runs on the virtual machines that do not include it. The class is kept package private
+ * as it will be used only within the dungeon model package.
+ */
+@Name("dungeon.GenerationStage")
+@Label("Dungeon Generation Stage")
+@Category("Dungeon")
+@Description("A stage of the generation of a dungeon")
+class GenerationStageEvent extends Event {
+  @Label("Stage")
+  String stage;
+
+  @Label("Allocated")
+  @DataAmount
+  long allocatedBytes;
+
+  /**
+   * Starts the event of a stage.
+   *
+   * @return the started event, null if the event is not enabled
+   */
+  static Object start() {
+    GenerationStageEvent event = new GenerationStageEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the event of a stage and records it.
+   *
+   * @param started        the event returned when the stage started
+   * @param stage          the stage
+   * @param allocatedBytes the heap allocated by the stage
+   */
+  static void finish(Object started, GenerationStage stage, long allocatedBytes) {
+    GenerationStageEvent event = (GenerationStageEvent) started;
+    event.end();
+    if (event.shouldCommit()) {
+      event.stage = stage.name();
+      event.allocatedBytes = allocatedBytes;
+      event.commit();
+    }
+  }
+}
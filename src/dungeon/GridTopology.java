@@ -0,0 +1,236 @@
+package dungeon;
+
+/**
+ * Represents the grid on which the dungeon is built. Every location of the grid is identified by
+ * a packed int cell id (row * colCount + col) and the doors of each location are stored as a 4 bit
+ * mask in a {@link CellStore} with a record of 1 byte per cell, so the dungeon operations never
+ * have to build or parse the "row-col" location strings. The strings are produced only when the
+ * locations are handed out of the model. The class is kept package private as it will be used
+ * only within the dungeon model package.
+ */
+class GridTopology {
+  static final Direction[] DIRECTIONS = Direction.values();
+  private final int rowCount;
+  private final int colCount;
+  private final boolean isWrap;
+  private final int cellCount;
+  private final CellStore doors;
+
+  /**
+   * Creates a grid in which all the doors are closed.
+   *
+   * @param rowCount the no. of rows in the dungeon grid
+   * @param colCount the no. of columns in the dungeon grid
+   * @param isWrap   true if the dungeon has paths wrapping type
+   */
+  GridTopology(int rowCount, int colCount, boolean isWrap) {
+    this(rowCount, colCount, isWrap, CellStorage.heap());
+  }
+
+  /**
+   * Creates a grid in which all the doors are closed, with the doors kept in the given storage.
+   *
+   * @param rowCount the no. of rows in the dungeon grid
+   * @param colCount the no. of columns in the dungeon grid
+   * @param isWrap   true if the dungeon has paths wrapping type
+   * @param storage  the storage of the doors
+   */
+  GridTopology(int rowCount, int colCount, boolean isWrap, CellStorage storage) {
+    if ((long) rowCount * colCount > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Grid has too many locations.");
+    }
+    this.rowCount = rowCount;
+    this.colCount = colCount;
+    this.isWrap = isWrap;
+    this.cellCount = rowCount * colCount;
+    this.doors = storage.create(cellCount, 1);
+  }
+
+  int getRowCount() {
+    return rowCount;
+  }
+
+  int getColCount() {
+    return colCount;
+  }
+
+  boolean isWrap() {
+    return isWrap;
+  }
+
+  int getCellCount() {
+    return cellCount;
+  }
+
+  boolean isValidCell(int cell) {
+    return cell >= 0 && cell < cellCount;
+  }
+
+  int getCellId(int row, int col) {
+    return row * colCount + col;
+  }
+
+  int getRow(int cell) {
+    return cell / colCount;
+  }
+
+  int getCol(int cell) {
+    return cell % colCount;
+  }
+
+  /**
+   * Gets the cell next to the given cell in the given direction irrespective of the doors. For
+   * wrapping dungeons the edges of the grid are joined to the opposite edges.
+   *
+   * @param cell the cell id
+   * @param dir  the direction of the neighbour
+   * @return the cell id of the neighbour, -1 if the neighbour is outside the grid
+   */
+  int getNeighbour(int cell, Direction dir) {
+    int i = cell / colCount + dir.getRowOffset();
+    int j = cell % colCount + dir.getColOffset();
+    if (isWrap) {
+      i = (i + rowCount) % rowCount;
+      j = (j + colCount) % colCount;
+    } else if (i < 0 || i >= rowCount || j < 0 || j >= colCount) {
+      return -1;
+    }
+    return i * colCount + j;
+  }
+
+  /**
+   * Gets the direction in which the second cell lies next to the first cell.
+   *
+   * @param from the cell id of the first cell
+   * @param to   the cell id of the second cell
+   * @return the direction of the second cell, null if the cells are not neighbours
+   */
+  Direction getDirection(int from, int to) {
+    for (Direction dir : DIRECTIONS) {
+      if (getNeighbour(from, dir) == to) {
+        return dir;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the cell that can be reached from the given cell by moving through the door in the
+   * given direction.
+   *
+   * @param cell the cell id
+   * @param dir  the direction of the door
+   * @return the cell id of the next location, -1 if there is no door in the given direction
+   */
+  int getNext(int cell, Direction dir) {
+    if (dir == null || !isValidCell(cell) || !hasDoor(cell, dir)) {
+      return -1;
+    }
+    return getNeighbour(cell, dir);
+  }
+
+  /**
+   * Gets the doors of the given cell that are opened by an edge joining it to the other cell.
+   * The door towards the neighbour is found using {@link #getNeighbour(int, Direction)} so the
+   * wrapping dungeons need no special handling for it.
+   *
+   * @param cell  the cell id for which the doors are required
+   * @param other the cell id of the other vertex of the edge
+   * @return the door mask opened on the given cell by the edge
+   */
+  int getEdgeDoors(int cell, int other) {
+    Direction dir = getDirection(cell, other);
+    int mask = dir == null ? 0 : dir.getMask();
+    if (isWrap) {
+      mask |= getWrapSeamDoors(cell, other);
+    }
+    return mask;
+  }
+
+  /**
+   * Apart from the doors towards the immediate neighbours, the wrapping rules of the dungeon open
+   * the east/south door of the cells in the last row or column that are joined to the first row
+   * or column, and the north/west door of the cells in the first row or column that are joined
+   * to the last row or column. These rules open one additional door on the cells next to the
+   * wrapped row and column and are kept as they are, so that the dungeons created for the same
+   * random values do not change.
+   */
+  private int getWrapSeamDoors(int cell, int other) {
+    int i = cell / colCount;
+    int j = cell % colCount;
+    int x = other / colCount;
+    int y = other % colCount;
+    int mask = 0;
+    //for last row and last column edges
+    if (j == colCount - 1 || i == rowCount - 1) {
+      if (x == i && y == 0) {
+        mask |= Direction.E.getMask();
+      }
+      if (x == 0 && y == j) {
+        mask |= Direction.S.getMask();
+      }
+    }
+    //for first row and first column edges
+    if (j == 0 || i == 0) {
+      if (x == rowCount - 1 && y == j) {
+        mask |= Direction.N.getMask();
+      }
+      if (x == i && y == colCount - 1) {
+        mask |= Direction.W.getMask();
+      }
+    }
+    return mask;
+  }
+
+  void openDoors(int cell, int mask) {
+    doors.set(cell, 0, (byte) (doors.get(cell, 0) | mask));
+  }
+
+  boolean hasDoor(int cell, Direction dir) {
+    return (doors.get(cell, 0) & dir.getMask()) != 0;
+  }
+
+  int getDoors(int cell) {
+    return doors.get(cell, 0);
+  }
+
+  boolean isTunnel(int cell) {
+    return Integer.bitCount(doors.get(cell, 0)) == 2;
+  }
+
+  /**
+   * Gets the "row-col" location string of the cell.
+   *
+   * @param cell the cell id
+   * @return the location of the cell
+   */
+  String toLocation(int cell) {
+    return "" + (cell / colCount) + "-" + (cell % colCount);
+  }
+
+  /**
+   * Gets the cell id from the "row-col" location string.
+   *
+   * @param loc the location of the cell
+   * @return the cell id, -1 if the location does not exist in the grid
+   */
+  int toCell(String loc) {
+    if (loc == null) {
+      return -1;
+    }
+    int separator = loc.indexOf('-');
+    if (separator <= 0) {
+      return -1;
+    }
+    try {
+      int i = Integer.parseInt(loc.substring(0, separator));
+      int j = Integer.parseInt(loc.substring(separator + 1));
+      if (i < 0 || i >= rowCount || j < 0 || j >= colCount) {
+        return -1;
+      }
+      return i * colCount + j;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package dungeon;
+
+/**
+ * Represents the records of the cells kept in a single byte array on the heap. The class is kept
+ * package private as it will be used only within the dungeon model package.
+ */
+class HeapCellStore implements CellStore {
+  private final int cellCount;
+  private final int width;
+  private final byte[] records;
+
+  /**
+   * Creates a store in which all the fields of every record are 0.
+   *
+   * @param cellCount the no. of cells in the dungeon grid
+   * @param width     the no. of byte fields in the record of every cell
+   */
+  HeapCellStore(int cellCount, int width) {
+    if (cellCount < 0 || width < 1) {
+      throw new IllegalArgumentException("Cell count cannot be negative and width must be 1 or "
+              + "more.");
+    }
+    if ((long) cellCount * width > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Grid is too large to be kept on the heap.");
+    }
+    this.cellCount = cellCount;
+    this.width = width;
+    this.records = new byte[cellCount * width];
+  }
+
+  private HeapCellStore(HeapCellStore copy) {
+    this.cellCount = copy.cellCount;
+    this.width = copy.width;
+    this.records = copy.records.clone();
+  }
+
+  @Override
+  public int getCellCount() {
+    return cellCount;
+  }
+
+  @Override
+  public int getRecordWidth() {
+    return width;
+  }
+
+  @Override
+  public byte get(int cell, int field) {
+    return records[cell * width + field];
+  }
+
+  @Override
+  public void set(int cell, int field, byte value) {
+    records[cell * width + field] = value;
+  }
+
+  @Override
+  public CellStore copy() {
+    return new HeapCellStore(this);
+  }
+
+  @Override
+  public void copyFrom(CellStore source) {
+    if (source.getCellCount() != cellCount || source.getRecordWidth() != width) {
+      throw new IllegalArgumentException("Stores are not of the same size.");
+    }
+    if (source instanceof HeapCellStore) {
+      System.arraycopy(((HeapCellStore) source).records, 0, records, 0, records.length);
+      return;
+    }
+    for (int cell = 0; cell < cellCount; cell++) {
+      for (int field = 0; field < width; field++) {
+        set(cell, field, source.get(cell, field));
+      }
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package dungeon;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Collects the locations whose appearance changed from the {@link GameEvent}s of a game, so that
+ * the view learns what to draw again only by listening to the game, without changing it. The
+ * changed locations are the old and new locations of the player after a move, the location of
+ * the player after a pick and the locations whose smell changed after an otyugh is killed. A new
+ * or restarted game, and too many changes, turn into a full redraw. The class is kept package
+ * private as it will be used only within the dungeon model package.
+ */
+class MapChangeCollector implements GameEventListener {
+  private static final int MAX_CHANGES = 1024;
+  private final int rowCount;
+  private final int colCount;
+  private final Set<String> locations = new LinkedHashSet<>();
+  private boolean fullRedraw;
+
+  /**
+   * Creates a collector without any changes, for a dungeon of the given size.
+   *
+   * @param rowCount the no. of rows in the dungeon grid
+   * @param colCount the no. of columns in the dungeon grid
+   */
+  MapChangeCollector(int rowCount, int colCount) {
+    if (rowCount < 1 || colCount < 1) {
+      throw new IllegalArgumentException("Dungeon must have at least one location.");
+    }
+    this.rowCount = rowCount;
+    this.colCount = colCount;
+  }
+
+  @Override
+  public void onEvent(GameEvent event) {
+    switch (event.getType()) {
+      case GAME_STARTED:
+        fullRedraw = true;
+        locations.clear();
+        break;
+      case PLAYER_MOVED:
+        add(event.getPreviousLocation());
+        add(event.getLocation());
+        break;
+      case ITEMS_CHANGED:
+        add(event.getLocation());
+        break;
+      case OTYUGH_KILLED:
+        addSmellChanges(event.getLocation());
+        break;
+      default:
+        //the other events do not change how any location looks
+        break;
+    }
+  }
+
+  /**
+   * Marks the location of the killed otyugh and the locations within two moves of it as changed.
+   * The dungeon may not wrap, in which case some of the locations marked across the edges did not
+   * change and are just drawn again.
+   *
+   * @param loc the location of the killed otyugh
+   */
+  private void addSmellChanges(String loc) {
+    String[] s = loc.split("-");
+    int row = Integer.parseInt(s[0]);
+    int col = Integer.parseInt(s[1]);
+    for (int i = -2; i <= 2; i++) {
+      for (int j = Math.abs(i) - 2; j <= 2 - Math.abs(i); j++) {
+        add((row + i + rowCount) % rowCount + "-" + (col + j + colCount) % colCount);
+      }
+    }
+  }
+
+  private void add(String loc) {
+    //nothing is tracked while a full redraw is pending
+    if (fullRedraw) {
+      return;
+    }
+    locations.add(loc);
+    if (locations.size() > MAX_CHANGES) {
+      fullRedraw = true;
+      locations.clear();
+    }
+  }
+
+  /**
+   * Gets the changes collected since the last call, and starts a new set of changes.
+   *
+   * @return the changed locations, or a full redraw
+   */
+  MapChanges take() {
+    MapChanges changes = fullRedraw ? MapChanges.all()
+            : new MapChanges(false, new ArrayList<>(locations));
+    fullRedraw = false;
+    locations.clear();
+    return changes;
+  }
+}
@@ -0,0 +1,49 @@
+package dungeon;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the locations of the dungeon whose appearance changed between two frames of the
+ * view, so that only those locations are drawn again. A full redraw is requested when the whole
+ * dungeon may have changed, such as when a game is started or restarted. The changes are
+ * immutable.
+ */
+public final class MapChanges {
+  private static final MapChanges ALL = new MapChanges(true, Collections.emptyList());
+  private final boolean fullRedraw;
+  private final List<String> locations;
+
+  MapChanges(boolean fullRedraw, List<String> locations) {
+    this.fullRedraw = fullRedraw;
+    this.locations = Collections.unmodifiableList(locations);
+  }
+
+  /**
+   * Gets the changes which request every location of the dungeon to be drawn again.
+   *
+   * @return the changes of a full redraw
+   */
+  public static MapChanges all() {
+    return ALL;
+  }
+
+  /**
+   * Checks if every location has to be drawn again, in which case the changed locations are
+   * not tracked.
+   *
+   * @return true if the whole dungeon has to be drawn again
+   */
+  public boolean isFullRedraw() {
+    return fullRedraw;
+  }
+
+  /**
+   * Gets the locations whose appearance changed, without duplicates.
+   *
+   * @return the changed locations
+   */
+  public List<String> getLocations() {
+    return locations;
+  }
+}
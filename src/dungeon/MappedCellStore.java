@@ -0,0 +1,125 @@
+package dungeon;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents the records of the cells kept in a temporary file that is mapped into memory, so
+ * that the records do not take any space on the heap and are paged in and out of memory by the
+ * operating system. A mapping cannot be larger than 2 GB, so the file is mapped in chunks of
+ * 1 GB. The file is deleted as soon as it is mapped where the operating system allows it, and
+ * otherwise when the program exits; the memory and the disk space are released only once the
+ * store is garbage collected, so a restarted game reuses its store through
+ * {@link #copyFrom(CellStore)} instead of mapping a new file. The class is kept package private
+ * as it will be used only within the dungeon model package.
+ */
+class MappedCellStore implements CellStore {
+  private static final int CHUNK_BITS = 30;
+  private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+  private final Path directory;
+  private final int cellCount;
+  private final int width;
+  private final MappedByteBuffer[] chunks;
+
+  /**
+   * Creates a store in which all the fields of every record are 0.
+   *
+   * @param directory the directory in which the temporary file is created
+   * @param cellCount the no. of cells in the dungeon grid
+   * @param width     the no. of byte fields in the record of every cell
+   * @throws UncheckedIOException if the file could not be created or mapped
+   */
+  MappedCellStore(Path directory, int cellCount, int width) {
+    if (directory == null) {
+      throw new IllegalArgumentException("Directory cannot be null.");
+    }
+    if (cellCount < 0 || width < 1) {
+      throw new IllegalArgumentException("Cell count cannot be negative and width must be 1 or "
+              + "more.");
+    }
+    this.directory = directory;
+    this.cellCount = cellCount;
+    this.width = width;
+    long size = (long) cellCount * width;
+    this.chunks = new MappedByteBuffer[(int) ((size + CHUNK_MASK) >>> CHUNK_BITS)];
+    try {
+      Path file = Files.createTempFile(directory, "dungeon", ".cells");
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+              StandardOpenOption.WRITE)) {
+        //the pages of a new file are filled with 0 when they are first touched
+        for (int i = 0; i < chunks.length; i++) {
+          long start = (long) i << CHUNK_BITS;
+          chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, start,
+                  Math.min(size - start, 1L << CHUNK_BITS));
+        }
+      }
+      try {
+        Files.delete(file);
+      } catch (IOException e) {
+        //a mapped file cannot be deleted on some systems
+        file.toFile().deleteOnExit();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cells could not be mapped to a file.", e);
+    }
+  }
+
+
+  @Override
+  public int getCellCount() {
+    return cellCount;
+  }
+
+  @Override
+  public int getRecordWidth() {
+    return width;
+  }
+
+  @Override
+  public byte get(int cell, int field) {
+    long index = (long) cell * width + field;
+    return chunks[(int) (index >>> CHUNK_BITS)].get((int) (index & CHUNK_MASK));
+  }
+
+  @Override
+  public void set(int cell, int field, byte value) {
+    long index = (long) cell * width + field;
+    chunks[(int) (index >>> CHUNK_BITS)].put((int) (index & CHUNK_MASK), value);
+  }
+
+  @Override
+  public CellStore copy() {
+    MappedCellStore copy = new MappedCellStore(directory, cellCount, width);
+    copy.copyFrom(this);
+    return copy;
+  }
+
+  @Override
+  public void copyFrom(CellStore source) {
+    if (source.getCellCount() != cellCount || source.getRecordWidth() != width) {
+      throw new IllegalArgumentException("Stores are not of the same size.");
+    }
+    if (source instanceof MappedCellStore) {
+      MappedCellStore mapped = (MappedCellStore) source;
+      for (int i = 0; i < chunks.length; i++) {
+        ByteBuffer from = mapped.chunks[i].duplicate();
+        from.clear();
+        ByteBuffer to = chunks[i].duplicate();
+        to.clear();
+        to.put(from);
+      }
+      return;
+    }
+    for (int cell = 0; cell < cellCount; cell++) {
+      for (int field = 0; field < width; field++) {
+        set(cell, field, source.get(cell, field));
+      }
+    }
+  }
+}
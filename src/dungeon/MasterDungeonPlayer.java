@@ -1,6 +1,7 @@
 package dungeon;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -13,9 +14,10 @@ class MasterDungeonPlayer implements Player {
   private int diamondCount;
   private int sapphireCount;
   private int rubyCount;
-  private String location;
+  private int location;
   private int arrowCount;
-  private List<String> visitedLocations;
+  private final List<Integer> visitedLocations;
+  private final BitSet visited;
 
   /**
    * Creates a player that will be entered into the dungeon. The player is created with 0 treasure
@@ -24,21 +26,25 @@ class MasterDungeonPlayer implements Player {
    * @param diamondCount  count of diamonds that the player has before starting the game
    * @param sapphireCount count of sapphires that the player has before starting the game
    * @param rubyCount     count of rubies that the player has before starting the game
-   * @param location      current location of the player
+   * @param location      cell id of the current location of the player, -1 if the player is
+   *                      not yet in the dungeon
    * @param arrowCount    count of arrows that the player has before starting the game
    */
-  MasterDungeonPlayer(int diamondCount, int sapphireCount, int rubyCount, String location,
+  MasterDungeonPlayer(int diamondCount, int sapphireCount, int rubyCount, int location,
                       int arrowCount) {
-    if (location == null) {
-      throw new IllegalArgumentException("Location cannot be null");
+    if (location < -1) {
+      throw new IllegalArgumentException("Location cannot be negative");
     }
     this.diamondCount = diamondCount;
     this.sapphireCount = sapphireCount;
     this.rubyCount = rubyCount;
-    this.location = location;
     this.arrowCount = arrowCount;
     visitedLocations = new ArrayList<>();
-    visitedLocations.add(location);
+    visited = new BitSet();
+    this.location = -1;
+    if (location != -1) {
+      setLocation(location);
+    }
   }
 
   @Override
@@ -62,17 +68,18 @@ class MasterDungeonPlayer implements Player {
   }
 
   @Override
-  public String getLocation() {
+  public int getLocation() {
     return location;
   }
 
   @Override
-  public void setLocation(String location) {
-    if (location == null) {
-      throw new IllegalArgumentException("Location cannot be null");
+  public void setLocation(int location) {
+    if (location < 0) {
+      throw new IllegalArgumentException("Location cannot be negative");
     }
     this.location = location;
-    if (!visitedLocations.contains(location)) {
+    if (!visited.get(location)) {
+      visited.set(location);
       visitedLocations.add(location);
     }
   }
@@ -103,7 +110,7 @@ class MasterDungeonPlayer implements Player {
   }
 
   @Override
-  public List<String> getVisitedLocations() {
+  public List<Integer> getVisitedLocations() {
     return this.visitedLocations;
   }
 }
@@ -0,0 +1,31 @@
+package dungeon;
+
+import randoms.Randomizer;
+
+import java.util.List;
+
+/**
+ * Represents the strategy used to carve the minimum spanning tree of the dungeon out of all the
+ * possible edges of the grid. Every implementation must consume the random values in the same
+ * order so that a dungeon created with one carver is identical to the dungeon created with any
+ * other carver for the same sequence of random values. The interface and all its methods are kept
+ * package private as they will be used only within the dungeon model package.
+ */
+interface MazeCarver {
+
+  /**
+   * Carves the maze using Kruskals algorithm. A random edge is picked from the remaining edges
+   * on each step, if it joins 2 different components it becomes a path of the maze, otherwise it
+   * is kept aside so that it can be used later for the degree of interconnectivity.
+   *
+   * @param edges                  all the edges of the grid, this list is consumed by the carver
+   * @param cellCount              the no. of cells in the dungeon grid
+   * @param r                      the randomizer object
+   * @param mazeEdges              the list to which the spanning tree edges are added
+   * @param interconnectivityEdges the list to which the left over edges are added
+   * @param progress               the progress of the generation, checked regularly for
+   *                               cancellation
+   */
+  void carve(List<Edge> edges, int cellCount, Randomizer r, List<Edge> mazeEdges,
+             List<Edge> interconnectivityEdges, GenerationProgress progress);
+}
@@ -7,7 +7,7 @@ package dungeon;
  */
 interface Monster {
 
-  String getLocation();
+  int getLocation();
 
   int getHealth();
 
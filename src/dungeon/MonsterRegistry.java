@@ -0,0 +1,156 @@
+package dungeon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the monsters of the dungeon indexed by the cell id of their location. The health
+ * of the monster at every location is kept in a byte array, so the monster at a location is
+ * found without scanning all the monsters and a copy of the registry is an array copy. The
+ * registry keeps the count of the live monsters and an immutable snapshot of their locations,
+ * which is rebuilt only after a monster has been killed. The class is kept package private as it
+ * will be used only within the dungeon model package.
+ */
+class MonsterRegistry {
+  private static final byte NO_MONSTER = Byte.MIN_VALUE;
+  private final byte[] health;
+  private int[] locations;
+  private int monsterCount;
+  private int liveCount;
+  private List<Integer> liveLocations;
+
+  /**
+   * Creates an empty registry.
+   *
+   * @param cellCount the no. of cells in the dungeon grid
+   */
+  MonsterRegistry(int cellCount) {
+    if (cellCount < 0) {
+      throw new IllegalArgumentException("Cell count cannot be negative.");
+    }
+    this.health = new byte[cellCount];
+    Arrays.fill(health, NO_MONSTER);
+    this.locations = new int[4];
+  }
+
+  /**
+   * Creates a copy of the registry that can be changed independently of the original.
+   *
+   * @param copy the registry to be copied
+   */
+  MonsterRegistry(MonsterRegistry copy) {
+    this.health = new byte[copy.health.length];
+    System.arraycopy(copy.health, 0, this.health, 0, copy.health.length);
+    this.locations = Arrays.copyOf(copy.locations, copy.locations.length);
+    this.monsterCount = copy.monsterCount;
+    this.liveCount = copy.liveCount;
+    //the snapshot is immutable and both registries have the same live monsters
+    this.liveLocations = copy.liveLocations;
+  }
+
+  /**
+   * Adds a monster at the location.
+   *
+   * @param cell   the cell id of the location
+   * @param health the initial health of the monster
+   */
+  void add(int cell, int health) {
+    if (cell < 0 || cell >= this.health.length) {
+      throw new IllegalArgumentException("Monster location does not exist in the dungeon.");
+    }
+    if (health < 0 || health > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid health of the monster.");
+    }
+    if (this.health[cell] != NO_MONSTER) {
+      throw new IllegalArgumentException("Location already has a monster.");
+    }
+    this.health[cell] = (byte) health;
+    if (monsterCount == locations.length) {
+      locations = Arrays.copyOf(locations, monsterCount * 2);
+    }
+    locations[monsterCount++] = cell;
+    if (health > 0) {
+      liveCount++;
+      liveLocations = null;
+    }
+  }
+
+  /**
+   * Checks if there is a monster, live or killed, at the location.
+   *
+   * @param cell the cell id of the location
+   * @return true if a monster was added at the location
+   */
+  boolean contains(int cell) {
+    return cell >= 0 && cell < health.length && health[cell] != NO_MONSTER;
+  }
+
+  /**
+   * Gets the health of the monster at the location.
+   *
+   * @param cell the cell id of the location
+   * @return the health of the monster, 0 if there is no monster at the location
+   */
+  int getHealth(int cell) {
+    return contains(cell) ? Math.max(0, health[cell]) : 0;
+  }
+
+  /**
+   * Strikes the monster at the location with an arrow.
+   *
+   * @param cell the cell id of the location
+   * @return the health of the monster after the strike, -1 if there is no monster at the location
+   */
+  int strike(int cell) {
+    if (!contains(cell)) {
+      return -1;
+    }
+    if (health[cell] > 0) {
+      health[cell]--;
+      if (health[cell] == 0) {
+        liveCount--;
+        liveLocations = null;
+      }
+    }
+    return health[cell];
+  }
+
+  int getLiveCount() {
+    return liveCount;
+  }
+
+  /**
+   * Gets the locations of the live monsters in the order in which the monsters were added. The
+   * same list is returned until a monster is killed.
+   *
+   * @return the unmodifiable list of the cell ids of the live monsters
+   */
+  List<Integer> getLiveLocations() {
+    if (liveLocations == null) {
+      List<Integer> live = new ArrayList<>(liveCount);
+      for (int i = 0; i < monsterCount; i++) {
+        if (health[locations[i]] > 0) {
+          live.add(locations[i]);
+        }
+      }
+      liveLocations = Collections.unmodifiableList(live);
+    }
+    return liveLocations;
+  }
+
+  /**
+   * Gets all the monsters, including the killed ones, in the order in which they were added.
+   * The monsters are copies of the current state, striking them does not change the registry.
+   *
+   * @return the unmodifiable list of the monsters
+   */
+  List<Monster> getMonsters() {
+    List<Monster> monsters = new ArrayList<>(monsterCount);
+    for (int i = 0; i < monsterCount; i++) {
+      monsters.add(new Otyugh(locations[i], health[locations[i]]));
+    }
+    return Collections.unmodifiableList(monsters);
+  }
+}
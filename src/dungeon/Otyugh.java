@@ -9,10 +9,10 @@ package dungeon;
  * dungeon model package.
  */
 class Otyugh implements Monster {
-  private String location;
+  private final int location;
   private int health;
 
-  Otyugh(String location, int health) {
+  Otyugh(int location, int health) {
     this.location = location;
     this.health = health;
   }
@@ -23,7 +23,7 @@ class Otyugh implements Monster {
   }
 
   @Override
-  public String getLocation() {
+  public int getLocation() {
     return location;
   }
 
@@ -37,18 +37,18 @@ interface Player {
   int getArrowCount();
 
   /**
-   * Get the current location of the player.
+   * Get the cell id of the current location of the player.
    *
-   * @return location of the player
+   * @return location of the player, -1 if the player has not been added to a dungeon
    */
-  String getLocation();
+  int getLocation();
 
   /**
    * Set the location of the player.
    *
-   * @param location location set by the dungeon model.
+   * @param location cell id of the location set by the dungeon model.
    */
-  void setLocation(String location);
+  void setLocation(int location);
 
   /**
    * Add the newly picked ruby count values to existing ruby values.
@@ -83,6 +83,11 @@ interface Player {
    */
   void deductArrow();
 
-  List<String> getVisitedLocations();
+  /**
+   * Get the cell ids of all the locations visited by the player in the order of the visits.
+   *
+   * @return the visited locations
+   */
+  List<Integer> getVisitedLocations();
 
 }
@@ -0,0 +1,76 @@
+package dungeon;
+
+import randoms.Randomizer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents the original maze carver which keeps a set of locations for every component of the
+ * maze and merges the sets as edges are selected. It is slow for large dungeons and is kept as
+ * the reference implementation against which the other carvers are verified. The class is kept
+ * package private as it will be used only within the dungeon model package.
+ */
+class SetListMazeCarver implements MazeCarver {
+
+  @Override
+  public void carve(List<Edge> edges, int cellCount, Randomizer r, List<Edge> mazeEdges,
+                    List<Edge> interconnectivityEdges, GenerationProgress progress) {
+    List<Set> listOfSets = new ArrayList();
+    //create sets for each node
+    for (int i = 0; i < cellCount; i++) {
+      Set<Integer> a = new HashSet<Integer>();
+      a.add(i);
+      listOfSets.add(a);
+    }
+    //for all edges in the edges list
+    while (edges.size() > 0) {
+      progress.checkCancelled();
+      boolean skipMerging = false;
+      Set<Integer> mergedSet = new HashSet<Integer>();
+      //select a random edge from edges list
+      int r_index = r.getRandomInt(0, edges.size());
+      Integer p1 = edges.get(r_index).getP1();
+      Integer p2 = edges.get(r_index).getP2();
+      //check if p1 and p2 are in same set
+      for (Set<Integer> s : listOfSets) {
+        //if yes, then add the edge to interconnectivity list
+        if (s.contains(p1) && s.contains(p2)) {
+          interconnectivityEdges.add(edges.get(r_index));
+          skipMerging = true;
+        }
+        //if no, then merge the sets containing p1 and p2
+        else {
+          if (s.contains(p1)) {
+            mergedSet.addAll(s);
+          }
+          if (s.contains(p2)) {
+            mergedSet.addAll(s);
+          }
+        }
+      }
+      if (!skipMerging) {
+        //remove the original sets from the list
+        List<Set> l_copy = new ArrayList();
+        for (Set<Integer> s : listOfSets) {
+          l_copy.add(s);
+        }
+        for (Set<Integer> s : l_copy) {
+          if (s.contains(p1)) {
+            listOfSets.remove(s);
+          }
+          if (s.contains(p2)) {
+            listOfSets.remove(s);
+          }
+        }
+        //add the new merged set to the list
+        listOfSets.add(mergedSet);
+        mazeEdges.add(edges.get(r_index));
+      }
+      //remove the edge from edges list
+      edges.remove(r_index);
+    }
+  }
+}
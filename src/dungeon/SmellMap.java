@@ -0,0 +1,147 @@
+package dungeon;
+
+import java.util.List;
+
+/**
+ * Represents the smell of the otyughs at every location of the dungeon. A location smells
+ * terrible if a live otyugh can be reached through one of its doors, and otherwise smells bad
+ * or terrible when 1 or more live otyughs can be reached through 2 doors. The level of every
+ * location is computed once when the otyughs are assigned and is kept in a byte array, so that
+ * the smell of a location is only an array read. When an otyugh is killed only the locations
+ * within 2 moves of it can change, so only those are computed again. The class is kept package
+ * private as it will be used only within the dungeon model package.
+ */
+class SmellMap {
+  static final byte NONE = 0;
+  static final byte BAD = 1;
+  static final byte TERRIBLE = 2;
+  private final GridTopology topology;
+  private final boolean[] hasLiveOtyugh;
+  private final byte[] levels;
+
+  /**
+   * Creates the smell map for the given otyughs.
+   *
+   * @param topology the grid topology of the dungeon
+   * @param otyughs  the otyughs of the dungeon
+   */
+  SmellMap(GridTopology topology, List<Monster> otyughs) {
+    if (topology == null || otyughs == null) {
+      throw new IllegalArgumentException("Topology and otyughs cannot be null.");
+    }
+    this.topology = topology;
+    this.hasLiveOtyugh = new boolean[topology.getCellCount()];
+    this.levels = new byte[topology.getCellCount()];
+    for (Monster o : otyughs) {
+      if (o.getHealth() > 0) {
+        hasLiveOtyugh[o.getLocation()] = true;
+      }
+    }
+    for (int cell = 0; cell < levels.length; cell++) {
+      levels[cell] = computeLevel(cell);
+    }
+  }
+
+  /**
+   * Creates the smell map from the smell levels computed before, such as the ones of a saved
+   * game, without computing them again.
+   *
+   * @param topology the grid topology of the dungeon
+   * @param otyughs  the otyughs of the dungeon
+   * @param levels   the smell level of every location, which is not copied
+   */
+  SmellMap(GridTopology topology, List<Monster> otyughs, byte[] levels) {
+    if (topology == null || otyughs == null || levels == null) {
+      throw new IllegalArgumentException("Topology, otyughs and levels cannot be null.");
+    }
+    if (levels.length != topology.getCellCount()) {
+      throw new IllegalArgumentException("Levels do not match the dungeon.");
+    }
+    this.topology = topology;
+    this.hasLiveOtyugh = new boolean[topology.getCellCount()];
+    this.levels = levels;
+    for (Monster o : otyughs) {
+      if (o.getHealth() > 0) {
+        hasLiveOtyugh[o.getLocation()] = true;
+      }
+    }
+  }
+
+  SmellMap(SmellMap copy) {
+    this.topology = copy.topology;
+    this.hasLiveOtyugh = copy.hasLiveOtyugh.clone();
+    this.levels = copy.levels.clone();
+  }
+
+  /**
+   * Gets the smell level at the location.
+   *
+   * @param cell the cell id of the location
+   * @return the smell level, {@link #NONE} for the locations that do not exist in the dungeon
+   */
+  byte getLevel(int cell) {
+    if (!topology.isValidCell(cell)) {
+      return NONE;
+    }
+    return levels[cell];
+  }
+
+  /**
+   * Removes the otyugh that has been killed at the location and updates the smell of all the
+   * locations within 2 moves of it.
+   *
+   * @param cell the cell id of the location of the killed otyugh
+   */
+  void removeOtyugh(int cell) {
+    if (!topology.isValidCell(cell) || !hasLiveOtyugh[cell]) {
+      return;
+    }
+    hasLiveOtyugh[cell] = false;
+    levels[cell] = computeLevel(cell);
+    for (Direction dir : GridTopology.DIRECTIONS) {
+      int next = topology.getNeighbour(cell, dir);
+      if (next == -1) {
+        continue;
+      }
+      levels[next] = computeLevel(next);
+      for (Direction nextDir : GridTopology.DIRECTIONS) {
+        int secondNext = topology.getNeighbour(next, nextDir);
+        if (secondNext != -1) {
+          levels[secondNext] = computeLevel(secondNext);
+        }
+      }
+    }
+  }
+
+  private byte computeLevel(int cell) {
+    //check for immediate neighbouring locations
+    if (getNeighbouringOtyughCount(cell) > 0) {
+      return TERRIBLE;
+    }
+    //check for next neighbours of immediate neighbours
+    int otyughCounter = 0;
+    for (Direction dir : GridTopology.DIRECTIONS) {
+      int next = topology.getNext(cell, dir);
+      if (next != -1) {
+        otyughCounter += getNeighbouringOtyughCount(next);
+      }
+    }
+    if (otyughCounter > 1) {
+      return TERRIBLE;
+    } else if (otyughCounter == 1) {
+      return BAD;
+    }
+    return NONE;
+  }
+
+  private int getNeighbouringOtyughCount(int cell) {
+    int otyughCounter = 0;
+    for (Direction dir : GridTopology.DIRECTIONS) {
+      int next = topology.getNext(cell, dir);
+      if (next != -1 && hasLiveOtyugh[next]) {
+        otyughCounter++;
+      }
+    }
+    return otyughCounter;
+  }
+}
@@ -0,0 +1,185 @@
+package dungeon;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Holds every image drawn by the swing view, decoded once and scaled once to the size at which
+ * it is drawn. The images are kept in the format of the screen, so drawing them needs no
+ * conversion, or in the ARGB format when there is no screen. The tiles of the locations are
+ * looked up by the door mask of the location and the overlays by their {@link Sprite}, whose
+ * position on a tile is fixed. The atlas is loaded once and shared by the whole view. The class
+ * is kept package private as it will be used only within the dungeon model package.
+ */
+class SpriteAtlas {
+  /**
+   * Represents the images drawn over the tiles of the locations and in the info panel.
+   */
+  enum Sprite {
+    DIAMOND("/diamond.png", 8, 8, 20, 20),
+    SAPPHIRE("/sapphire.png", 8, 8, 25, 20),
+    RUBY("/ruby.png", 8, 8, 30, 20),
+    ARROW("/arrow-white.png", 12, 6, 20, 30),
+    BAD_SMELL("/stench01.png", -1, -1, 0, 0),
+    TERRIBLE_SMELL("/stench02.png", -1, -1, 0, 0),
+    PLAYER("/player.png", 25, 25, 20, 20),
+    OTYUGH("/otyugh.png", 30, 30, 10, 20),
+    PLAYER_ICON("/player.png", 30, 30, 0, 0),
+    CAVE_ICON("/N.png", 30, 30, 0, 0),
+    TUNNEL_ICON("/NS.png", 30, 30, 0, 0);
+
+    private final String path;
+    private final int width;
+    private final int height;
+    private final int x;
+    private final int y;
+
+    Sprite(String path, int width, int height, int x, int y) {
+      this.path = path;
+      this.width = width;
+      this.height = height;
+      this.x = x;
+      this.y = y;
+    }
+
+    int getX() {
+      return x;
+    }
+
+    int getY() {
+      return y;
+    }
+  }
+
+  private static SpriteAtlas instance;
+  private final GraphicsConfiguration config;
+  private final BufferedImage[] tiles = new BufferedImage[16];
+  private final BufferedImage blank;
+  private final BufferedImage[] sprites = new BufferedImage[Sprite.values().length];
+
+  private SpriteAtlas() throws IOException {
+    this.config = GraphicsEnvironment.isHeadless() ? null : GraphicsEnvironment
+            .getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    for (int doors = 1; doors < tiles.length; doors++) {
+      tiles[doors] = toCompatible(read("/" + toName(doors) + ".png"), -1, -1);
+    }
+    blank = toCompatible(read("/blank.png"), -1, -1);
+    for (Sprite s : Sprite.values()) {
+      sprites[s.ordinal()] = toCompatible(read(s.path), s.width, s.height);
+    }
+  }
+
+  /**
+   * Gets the atlas, loading it the first time.
+   *
+   * @return the atlas
+   * @throws IllegalStateException if an image could not be loaded
+   */
+  static synchronized SpriteAtlas getInstance() {
+    if (instance == null) {
+      try {
+        instance = new SpriteAtlas();
+      } catch (IOException e) {
+        throw new IllegalStateException("Image not found", e);
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Gets the tile of a location.
+   *
+   * @param doors the door mask of the location
+   * @return the tile, the blank tile for a location without doors
+   */
+  BufferedImage getTile(int doors) {
+    if (doors <= 0 || doors >= tiles.length) {
+      return blank;
+    }
+    return tiles[doors];
+  }
+
+  /**
+   * Gets the door mask of a location from its possible moves.
+   *
+   * @param moves the possible moves of the location, such as "N S E "
+   * @return the door mask
+   */
+  static int toDoors(String moves) {
+    int doors = 0;
+    for (Direction dir : Direction.values()) {
+      if (moves.indexOf(dir.toString().charAt(0)) >= 0) {
+        doors |= dir.getMask();
+      }
+    }
+    return doors;
+  }
+
+  BufferedImage getBlank() {
+    return blank;
+  }
+
+  BufferedImage getSprite(Sprite sprite) {
+    return sprites[sprite.ordinal()];
+  }
+
+  /**
+   * Creates an image of the size of the tiles in the format of the atlas.
+   *
+   * @return the empty image
+   */
+  BufferedImage createTileImage() {
+    return createImage(blank.getWidth(), blank.getHeight());
+  }
+
+  private BufferedImage createImage(int width, int height) {
+    if (config == null) {
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+    return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+  }
+
+  private BufferedImage toCompatible(BufferedImage image, int width, int height) {
+    Image scaled = image;
+    if (width > 0) {
+      //scaled smoothly once, as the view used to on every draw
+      scaled = image.getScaledInstance(width, height, Image.SCALE_SMOOTH);
+    } else {
+      width = image.getWidth();
+      height = image.getHeight();
+    }
+    BufferedImage compatible = createImage(width, height);
+    Graphics2D g = compatible.createGraphics();
+    g.drawImage(scaled, 0, 0, null);
+    g.dispose();
+    return compatible;
+  }
+
+  private BufferedImage read(String path) throws IOException {
+    try (InputStream in = getClass().getResourceAsStream(path)) {
+      if (in == null) {
+        throw new IOException("Image not found: " + path);
+      }
+      return ImageIO.read(in);
+    }
+  }
+
+  //the image names list the doors in the order N, S, E, W
+  private static String toName(int doors) {
+    StringBuilder name = new StringBuilder();
+    for (Direction dir : new Direction[]{Direction.N, Direction.S, Direction.E, Direction.W}) {
+      if ((doors & dir.getMask()) != 0) {
+        name.append(dir);
+      }
+    }
+    return name.toString();
+  }
+}
@@ -0,0 +1,157 @@
+package dungeon;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the fully drawn tiles of the locations by what is drawn on them: the doors, the
+ * treasure and arrows, the smell and the player and otyugh. Any two locations that look the same
+ * share a tile, so a tile with all its overlays is drawn once and then reused for every such
+ * location in every frame. The cache keeps the most recently used tiles up to a maximum no. and
+ * evicts the least recently used ones beyond it. The cache is used only by the swing view on the
+ * event dispatch thread, so it is not synchronized. The class is kept package private as it will
+ * be used only within the dungeon model package.
+ */
+class TileCache {
+  static final int DIAMOND = 1 << 4;
+  static final int SAPPHIRE = 1 << 5;
+  static final int RUBY = 1 << 6;
+  static final int ARROW = 1 << 7;
+  static final int BAD_SMELL = 1 << 8;
+  static final int TERRIBLE_SMELL = 2 << 8;
+  static final int PLAYER = 1 << 10;
+  static final int OTYUGH = 1 << 11;
+  private final SpriteAtlas atlas;
+  private final int maxTiles;
+  private final Map<Integer, BufferedImage> tiles;
+  private int hits;
+  private int misses;
+
+  /**
+   * Creates an empty cache of the tiles drawn with the images of the given atlas.
+   *
+   * @param atlas    the images of the tiles and overlays
+   * @param maxTiles the no. of tiles that can be cached, at least one
+   */
+  TileCache(SpriteAtlas atlas, int maxTiles) {
+    if (atlas == null) {
+      throw new IllegalArgumentException("Atlas cannot be null.");
+    }
+    if (maxTiles < 1) {
+      throw new IllegalArgumentException("At least one tile must be cached.");
+    }
+    this.atlas = atlas;
+    this.maxTiles = maxTiles;
+    //access ordered map so that the eldest entry is the least recently used tile
+    this.tiles = new LinkedHashMap<Integer, BufferedImage>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+        return size() > maxTiles;
+      }
+    };
+  }
+
+  /**
+   * Gets the key of what is drawn on a location. The smell is not drawn on the location of an
+   * otyugh, so it is left out of the key of such a location.
+   *
+   * @param doors    the door mask of the location
+   * @param diamond  true if there are diamonds at the location
+   * @param sapphire true if there are sapphires at the location
+   * @param ruby     true if there are rubies at the location
+   * @param arrow    true if there are arrows at the location
+   * @param smell    the smell at the location, "Bad", "Terrible" or none
+   * @param player   true if the player is at the location
+   * @param otyugh   true if a live otyugh is at the location
+   * @return the key of the tile of the location
+   */
+  static int toKey(int doors, boolean diamond, boolean sapphire, boolean ruby, boolean arrow,
+                   String smell, boolean player, boolean otyugh) {
+    int key = doors;
+    key |= diamond ? DIAMOND : 0;
+    key |= sapphire ? SAPPHIRE : 0;
+    key |= ruby ? RUBY : 0;
+    key |= arrow ? ARROW : 0;
+    if (!otyugh && smell.equals("Bad")) {
+      key |= BAD_SMELL;
+    } else if (!otyugh && smell.equals("Terrible")) {
+      key |= TERRIBLE_SMELL;
+    }
+    key |= player ? PLAYER : 0;
+    key |= otyugh ? OTYUGH : 0;
+    return key;
+  }
+
+  /**
+   * Gets the tile of the given key, drawing it only if it is not already cached. The returned
+   * image is shared with the cache and must not be modified.
+   *
+   * @param key the key of the tile, from {@link #toKey}
+   * @return the tile with all its overlays
+   */
+  BufferedImage getTile(int key) {
+    BufferedImage tile = tiles.get(key);
+    if (tile == null) {
+      misses++;
+      tile = draw(key);
+      tiles.put(key, tile);
+    } else {
+      hits++;
+    }
+    return tile;
+  }
+
+  private BufferedImage draw(int key) {
+    BufferedImage tile = atlas.createTileImage();
+    Graphics2D g = tile.createGraphics();
+    g.drawImage(atlas.getTile(key & 15), 0, 0, null);
+    //the overlays are drawn in the order the view has always drawn them
+    overlay(g, key, DIAMOND, SpriteAtlas.Sprite.DIAMOND);
+    overlay(g, key, SAPPHIRE, SpriteAtlas.Sprite.SAPPHIRE);
+    overlay(g, key, RUBY, SpriteAtlas.Sprite.RUBY);
+    overlay(g, key, ARROW, SpriteAtlas.Sprite.ARROW);
+    overlay(g, key, BAD_SMELL, SpriteAtlas.Sprite.BAD_SMELL);
+    overlay(g, key, TERRIBLE_SMELL, SpriteAtlas.Sprite.TERRIBLE_SMELL);
+    overlay(g, key, PLAYER, SpriteAtlas.Sprite.PLAYER);
+    overlay(g, key, OTYUGH, SpriteAtlas.Sprite.OTYUGH);
+    g.dispose();
+    return tile;
+  }
+
+  private void overlay(Graphics2D g, int key, int flag, SpriteAtlas.Sprite sprite) {
+    if ((key & flag) != 0) {
+      g.drawImage(atlas.getSprite(sprite), sprite.getX(), sprite.getY(), null);
+    }
+  }
+
+  int getCachedTileCount() {
+    return tiles.size();
+  }
+
+  int getHitCount() {
+    return hits;
+  }
+
+  int getMissCount() {
+    return misses;
+  }
+
+  /**
+   * Gets the fraction of the tiles that were found in the cache.
+   *
+   * @return the hit rate, from 0 to 1, 0 if no tile was requested
+   */
+  double getHitRate() {
+    int requests = hits + misses;
+    return requests == 0 ? 0 : (double) hits / requests;
+  }
+
+  /**
+   * Removes all the cached tiles.
+   */
+  void clear() {
+    tiles.clear();
+  }
+}
@@ -0,0 +1,73 @@
+package dungeon;
+
+import randoms.Randomizer;
+
+import java.util.List;
+
+/**
+ * Represents the maze carver that tracks the components of the maze using a disjoint set over the
+ * cell ids of the grid. The remaining edges are tracked with a binary indexed tree so that the
+ * random edge picked on every step is the same edge that would be picked from a list from which
+ * the previously selected edges were removed, without actually shifting the list. This keeps the
+ * output identical to {@link SetListMazeCarver} while running in O(E log E). The class is kept
+ * package private as it will be used only within the dungeon model package.
+ */
+class UnionFindMazeCarver implements MazeCarver {
+
+  @Override
+  public void carve(List<Edge> edges, int cellCount, Randomizer r, List<Edge> mazeEdges,
+                    List<Edge> interconnectivityEdges, GenerationProgress progress) {
+    int edgeCount = edges.size();
+    DisjointSet components = new DisjointSet(cellCount);
+    int[] tree = createRemainingEdgesTree(edgeCount);
+    for (int remaining = edgeCount; remaining > 0; remaining--) {
+      if (remaining % GenerationProgress.CHECK_INTERVAL == 0) {
+        progress.checkCancelled();
+      }
+      //select a random edge from the remaining edges
+      int index = findRemainingEdge(tree, r.getRandomInt(0, remaining));
+      removeEdge(tree, index);
+      Edge e = edges.get(index);
+      //if the edge joins 2 components it is a path of the maze, otherwise it is kept aside
+      if (components.union(e.getP1(), e.getP2())) {
+        mazeEdges.add(e);
+      } else {
+        interconnectivityEdges.add(e);
+      }
+    }
+    edges.clear();
+  }
+
+  private int[] createRemainingEdgesTree(int edgeCount) {
+    //binary indexed tree (1 based) in which every edge is initially present once
+    int[] tree = new int[edgeCount + 1];
+    for (int i = 1; i <= edgeCount; i++) {
+      tree[i]++;
+      int parent = i + (i & -i);
+      if (parent <= edgeCount) {
+        tree[parent] += tree[i];
+      }
+    }
+    return tree;
+  }
+
+  private int findRemainingEdge(int[] tree, int rank) {
+    //find the index of the edge that has 'rank' remaining edges before it
+    int index = 0;
+    int remaining = rank + 1;
+    for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+      int next = index + step;
+      if (next < tree.length && tree[next] < remaining) {
+        index = next;
+        remaining -= tree[next];
+      }
+    }
+    return index;
+  }
+
+  private void removeEdge(int[] tree, int index) {
+    for (int i = index + 1; i < tree.length; i += i & -i) {
+      tree[i]--;
+    }
+  }
+}
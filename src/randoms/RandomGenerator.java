@@ -16,6 +16,16 @@ public class RandomGenerator implements Randomizer {
     r = new Random();
   }
 
+  /**
+   * Constructs an instance of Random Generator class with a fixed seed, so that the same
+   * sequence of random values is generated on every run.
+   *
+   * @param seed the seed of the java Random object
+   */
+  public RandomGenerator(long seed) {
+    r = new Random(seed);
+  }
+
   @Override
   public int getRandomInt(int minValue, int maxValue) {
     if (minValue > maxValue) {
@@ -3,7 +3,9 @@ package randoms;
 import java.util.List;
 
 /**
- * Class to mock generation of Random values for test cases and driver runs.
+ * Class to mock generation of Random values for test cases and driver runs. The values are taken
+ * in order from the list that was set, and every value returned is removed from that list, so
+ * the values added to the list later, or after refilling it, are returned next.
  */
 public class RandomGeneratorDummy implements Randomizer {
   private List<Integer> values;
@@ -13,13 +15,18 @@ public class RandomGeneratorDummy implements Randomizer {
     if (minValue > maxValue) {
       throw new IllegalArgumentException("Lower bound cannot be greater than upper bound.");
     }
-    int value = values.get(0);
-    this.values.remove(0);
-    return value;
+    if (values == null || values.isEmpty()) {
+      throw new IndexOutOfBoundsException("No more random values were set.");
+    }
+    //the lists of the tests are short, so removing the first value costs next to nothing
+    return values.remove(0);
   }
 
   @Override
   public void setDummyRandomValue(List<Integer> values) {
+    if (values == null) {
+      throw new IllegalArgumentException("Random values cannot be null.");
+    }
     this.values = values;
   }
 }
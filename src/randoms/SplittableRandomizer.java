@@ -0,0 +1,54 @@
+package randoms;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class to generate the Random values from an explicit seed, so that a dungeon or a game can be
+ * generated again from its seed. The randomizer is not thread safe, instead it can be split into
+ * a new randomizer with an independent sequence of values for every thread that needs one. A
+ * randomizer and its splits generate the same values on every run with the same seed.
+ */
+public class SplittableRandomizer implements Randomizer {
+  private final SplittableRandom r;
+
+  /**
+   * Constructs an instance of the randomizer that generates the sequence of random values of the
+   * given seed.
+   *
+   * @param seed the seed of the random values
+   */
+  public SplittableRandomizer(long seed) {
+    this(new SplittableRandom(seed));
+  }
+
+  private SplittableRandomizer(SplittableRandom r) {
+    this.r = r;
+  }
+
+  /**
+   * Creates a new randomizer whose random values are independent of the values of this
+   * randomizer. Splitting advances this randomizer, so the splits made in the same order from
+   * the same seed are always the same.
+   *
+   * @return the new randomizer
+   */
+  public SplittableRandomizer split() {
+    return new SplittableRandomizer(r.split());
+  }
+
+  @Override
+  public int getRandomInt(int minValue, int maxValue) {
+    if (minValue > maxValue) {
+      throw new IllegalArgumentException("Lower bound cannot be greater than upper bound.");
+    }
+    return r.nextInt(minValue, maxValue);
+  }
+
+  @Override
+  public void setDummyRandomValue(List<Integer> r) {
+    // This method is supposed to be empty as it is used to set the values for Randomizer object
+    // only for testing. The overridden method in RandomGeneratorDummy class will set a specific
+    // value for random when testing.
+  }
+}
@@ -0,0 +1,78 @@
+package simulation;
+
+import dungeon.Direction;
+import dungeon.GameAction;
+import dungeon.GameModel;
+import randoms.Randomizer;
+
+/**
+ * Represents the policy in which the player collects everything it finds. All the treasure and
+ * arrows at a location are picked before moving on, and the player explores by moving through a
+ * random door other than the one it came in through, turning back only at a dead end.
+ */
+public class GreedyTreasurePolicy implements Policy {
+  private final Direction[] directions = new Direction[4];
+  private Direction lastMove;
+
+  @Override
+  public GameAction nextAction(GameModel game, Randomizer r) {
+    String loc = game.getPlayerLocation();
+    GameAction pick = pickAction(game, loc);
+    if (pick != null) {
+      return pick;
+    }
+    return GameAction.move(exploreDirection(game, loc, r));
+  }
+
+  @Override
+  public void onResult(GameAction action, int result) {
+    if (action.getType() == GameAction.Type.MOVE && result >= 0) {
+      lastMove = action.getDirection();
+    }
+  }
+
+  /**
+   * Gets the action to pick all the items at the location.
+   *
+   * @param game the game being played
+   * @param loc  the location of the player
+   * @return the pick action, null if there is nothing to pick at the location
+   */
+  GameAction pickAction(GameModel game, String loc) {
+    if (game.getDiamondCount(loc) > 0 || game.getSapphireCount(loc) > 0
+            || game.getRubyCount(loc) > 0) {
+      return GameAction.pickAll(GameAction.Item.ALL_TREASURE);
+    }
+    if (game.getArrowCount(loc) > 0) {
+      return GameAction.pickAll(GameAction.Item.ALL_ARROWS);
+    }
+    return null;
+  }
+
+  /**
+   * Gets a random direction to move in, avoiding going back the way the player came.
+   *
+   * @param game the game being played
+   * @param loc  the location of the player
+   * @param r    the randomizer of the worker playing the game
+   * @return the direction of the move
+   */
+  Direction exploreDirection(GameModel game, String loc, Randomizer r) {
+    int count = Moves.parse(game.getNextPossibleMoves(loc), directions);
+    if (count == 0) {
+      return Direction.N;
+    }
+    Direction back = lastMove == null ? null : lastMove.opposite();
+    if (count > 1 && back != null) {
+      //drop the way back from the choices
+      int kept = 0;
+      for (int i = 0; i < count; i++) {
+        if (directions[i] != back) {
+          directions[kept++] = directions[i];
+        }
+      }
+      count = kept;
+    }
+    return directions[r.getRandomInt(0, count)];
+  }
+}
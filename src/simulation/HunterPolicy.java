@@ -0,0 +1,68 @@
+package simulation;
+
+import dungeon.Direction;
+import dungeon.GameAction;
+import dungeon.GameModel;
+import randoms.Randomizer;
+
+/**
+ * Represents the policy in which the player hunts the otyughs. The player collects the arrows
+ * and treasure like {@link GreedyTreasurePolicy}, and when it smells an otyugh it shoots through
+ * every door of its location in turn, 1 cave away for a terrible smell and 2 caves away for a bad
+ * smell, before moving on. The arrows of the player are tracked from the results of the actions.
+ */
+public class HunterPolicy extends GreedyTreasurePolicy {
+  private static final int INITIAL_ARROWS = 3;
+  private final Direction[] directions = new Direction[4];
+  private int arrows = INITIAL_ARROWS;
+  private String shotLocation;
+  private int shotsAtLocation;
+
+  @Override
+  public GameAction nextAction(GameModel game, Randomizer r) {
+    String loc = game.getPlayerLocation();
+    if (!loc.equals(shotLocation)) {
+      shotLocation = loc;
+      shotsAtLocation = 0;
+    }
+    GameAction pick = pickAction(game, loc);
+    if (pick != null) {
+      return pick;
+    }
+    if (arrows > 0) {
+      String smell = game.getLocationSmell(loc);
+      int distance = smell.equals("Terrible") ? 1 : smell.equals("Bad") ? 2 : 0;
+      int count = Moves.parse(game.getNextPossibleMoves(loc), directions);
+      if (distance > 0 && shotsAtLocation < count) {
+        return GameAction.shoot(directions[shotsAtLocation], distance);
+      }
+    }
+    return GameAction.move(exploreDirection(game, loc, r));
+  }
+
+  @Override
+  public void onResult(GameAction action, int result) {
+    super.onResult(action, result);
+    switch (action.getType()) {
+      case SHOOT:
+        shotsAtLocation++;
+        if (result >= 0) {
+          arrows--;
+        } else if (result == GameAction.NO_ARROWS) {
+          arrows = 0;
+        }
+        //after a kill the smell changes, so try all the doors again
+        if (result == 2) {
+          shotsAtLocation = 0;
+        }
+        break;
+      case PICK:
+        if (action.getItem() == GameAction.Item.ALL_ARROWS && result > 0) {
+          arrows += result;
+        }
+        break;
+      default:
+        break;
+    }
+  }
+}
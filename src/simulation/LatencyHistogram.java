@@ -0,0 +1,91 @@
+package simulation;
+
+/**
+ * Represents a histogram of latencies in nanoseconds with a fixed memory footprint. The values
+ * are counted in buckets whose width grows with the value, 8 buckets for every power of 2, so
+ * every recorded value is known within 12.5% however many values are recorded. The histogram is
+ * not thread safe, every worker records into its own histogram and the histograms are merged at
+ * the end. The class is kept package private as it will be used only by the simulation.
+ */
+class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private final long[] counts = new long[(64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS];
+  private long totalCount;
+  private long max;
+
+  /**
+   * Records a value.
+   *
+   * @param nanos the latency in nanoseconds, negative values are recorded as 0
+   */
+  void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts[indexOf(value)]++;
+    totalCount++;
+    max = Math.max(max, value);
+  }
+
+  /**
+   * Adds all the values recorded in the other histogram to this histogram.
+   *
+   * @param other the histogram to be merged
+   */
+  void merge(LatencyHistogram other) {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+    totalCount += other.totalCount;
+    max = Math.max(max, other.max);
+  }
+
+  long getTotalCount() {
+    return totalCount;
+  }
+
+  long getMax() {
+    return max;
+  }
+
+  /**
+   * Gets the value below which the given percentage of the recorded values lie.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the lower bound of the bucket holding the percentile, 0 if nothing was recorded
+   */
+  long getPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+    }
+    if (totalCount == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(valueOf(i), max);
+      }
+    }
+    return max;
+  }
+
+  private static int indexOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long valueOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long subBucket = index % SUB_BUCKETS;
+    return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+  }
+}
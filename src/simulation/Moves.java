@@ -0,0 +1,44 @@
+package simulation;
+
+import dungeon.Direction;
+
+/**
+ * Converts the possible moves reported by the game into directions. The class is kept package
+ * private as it will be used only by the policies of the simulation.
+ */
+final class Moves {
+
+  private Moves() {
+    //only static helpers
+  }
+
+  /**
+   * Parses the possible moves, such as "N S E ", into the given array.
+   *
+   * @param moves      the possible moves of a location
+   * @param directions the array, of at least 4 elements, that receives the directions
+   * @return the no. of directions written to the array
+   */
+  static int parse(String moves, Direction[] directions) {
+    int count = 0;
+    for (int i = 0; i < moves.length(); i++) {
+      switch (moves.charAt(i)) {
+        case 'N':
+          directions[count++] = Direction.N;
+          break;
+        case 'E':
+          directions[count++] = Direction.E;
+          break;
+        case 'S':
+          directions[count++] = Direction.S;
+          break;
+        case 'W':
+          directions[count++] = Direction.W;
+          break;
+        default:
+          break;
+      }
+    }
+    return count;
+  }
+}
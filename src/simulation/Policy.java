@@ -0,0 +1,32 @@
+package simulation;
+
+import dungeon.GameAction;
+import dungeon.GameModel;
+import randoms.Randomizer;
+
+/**
+ * Represents the strategy of a simulated player. The simulation asks the policy for the next
+ * action of the player, performs it on the game and reports the result back to the policy, so
+ * that the policy can keep track of anything it cannot query from the game. A new policy is
+ * created for every game, so a policy only needs to hold the state of one game.
+ */
+public interface Policy {
+
+  /**
+   * Chooses the next action of the player.
+   *
+   * @param game the game being played, which is not over yet
+   * @param r    the randomizer of the worker playing the game
+   * @return the next action to be performed
+   */
+  GameAction nextAction(GameModel game, Randomizer r);
+
+  /**
+   * Receives the result of the action that was last chosen by the policy.
+   *
+   * @param action the action that was performed
+   * @param result the result of the action as returned by
+   *               {@link GameModel#performActions(java.util.List)}
+   */
+  void onResult(GameAction action, int result);
+}
@@ -0,0 +1,30 @@
+package simulation;
+
+import dungeon.Direction;
+import dungeon.GameAction;
+import dungeon.GameModel;
+import randoms.Randomizer;
+
+/**
+ * Represents the policy in which the player only moves, choosing one of the doors of its
+ * location at random on every step. It ignores the treasure, arrows and smell and serves as the
+ * baseline for the other policies.
+ */
+public class RandomWalkPolicy implements Policy {
+  private final Direction[] directions = new Direction[4];
+
+  @Override
+  public GameAction nextAction(GameModel game, Randomizer r) {
+    int count = Moves.parse(game.getNextPossibleMoves(game.getPlayerLocation()), directions);
+    if (count == 0) {
+      //a location without doors, any move is invalid
+      return GameAction.move(Direction.N);
+    }
+    return GameAction.move(directions[r.getRandomInt(0, count)]);
+  }
+
+  @Override
+  public void onResult(GameAction action, int result) {
+    //the random walk does not depend on the results
+  }
+}
@@ -0,0 +1,98 @@
+package simulation;
+
+/**
+ * Represents the parameters of a simulation: the dungeon every game is played in, the no. of
+ * games to play, the limit on the no. of steps of a game and the no. of worker threads. The
+ * configuration is immutable.
+ */
+public final class SimulationConfig {
+  private final int rowCount;
+  private final int colCount;
+  private final int degOfInterconnectivity;
+  private final boolean isWrap;
+  private final int percentCavesForTreasure;
+  private final int otyughCount;
+  private final long games;
+  private final int maxSteps;
+  private final int threads;
+  private final long seed;
+
+  /**
+   * Creates the configuration of a simulation.
+   *
+   * @param rowCount                the no. of rows in the dungeon grid
+   * @param colCount                the no. of columns in the dungeon grid
+   * @param degOfInterconnectivity  the no of paths that can be added to the kruskals output
+   *                                minimum spanning tree.
+   * @param isWrap                  true if the dungeon has paths wrapping type
+   * @param percentCavesForTreasure the percentage of caves to which treasure is to be assigned.
+   * @param otyughCount             the number of otyughs present in the dungeon
+   * @param games                   the no. of games to be played
+   * @param maxSteps                the no. of actions after which a game is abandoned
+   * @param threads                 the no. of worker threads playing the games
+   * @param seed                    the seed from which the randomizer of every worker is created
+   */
+  public SimulationConfig(int rowCount, int colCount, int degOfInterconnectivity, boolean isWrap,
+                          int percentCavesForTreasure, int otyughCount, long games, int maxSteps,
+                          int threads, long seed) {
+    if (games < 0) {
+      throw new IllegalArgumentException("No. of games cannot be negative.");
+    }
+    if (maxSteps < 1) {
+      throw new IllegalArgumentException("No. of steps of a game should be at least 1.");
+    }
+    if (threads < 1) {
+      throw new IllegalArgumentException("No. of threads should be at least 1.");
+    }
+    this.rowCount = rowCount;
+    this.colCount = colCount;
+    this.degOfInterconnectivity = degOfInterconnectivity;
+    this.isWrap = isWrap;
+    this.percentCavesForTreasure = percentCavesForTreasure;
+    this.otyughCount = otyughCount;
+    this.games = games;
+    this.maxSteps = maxSteps;
+    this.threads = threads;
+    this.seed = seed;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColCount() {
+    return colCount;
+  }
+
+  public int getDegOfInterconnectivity() {
+    return degOfInterconnectivity;
+  }
+
+  public boolean isWrap() {
+    return isWrap;
+  }
+
+  public int getPercentCavesForTreasure() {
+    return percentCavesForTreasure;
+  }
+
+  public int getOtyughCount() {
+    return otyughCount;
+  }
+
+  public long getGames() {
+    return games;
+  }
+
+  public int getMaxSteps() {
+    return maxSteps;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+}
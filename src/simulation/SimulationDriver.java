@@ -0,0 +1,52 @@
+package simulation;
+
+import java.util.function.Supplier;
+
+/**
+ * The driver that runs a headless simulation from the command line and prints its report.
+ */
+public class SimulationDriver {
+
+  /**
+   * The main method that runs the simulation.
+   *
+   * @param args the parameters of the simulation in the order: policy (random, greedy or
+   *             hunter), no. of rows, no. of columns, degree of interconnectivity, is dungeon
+   *             wrapping(Y/N), percentage of caves/locations to which treasure/arrows are to be
+   *             assigned, no of otyughs, no. of games, and optionally the no. of threads
+   *             (defaults to the no. of processors), the maximum steps of a game (defaults to
+   *             10000) and the seed (defaults to the current time).
+   */
+  public static void main(String[] args) {
+    if (args.length < 8) {
+      System.out.println("Usage: SimulationDriver <random|greedy|hunter> <rows> <cols> "
+              + "<interconnectivity> <Y|N> <percent> <otyughs> <games> [threads] [maxSteps] "
+              + "[seed]");
+      return;
+    }
+    Supplier<Policy> policies = policyFor(args[0]);
+    int threads = args.length > 8 ? Integer.parseInt(args[8])
+            : Runtime.getRuntime().availableProcessors();
+    int maxSteps = args.length > 9 ? Integer.parseInt(args[9]) : 10000;
+    long seed = args.length > 10 ? Long.parseLong(args[10]) : System.nanoTime();
+    SimulationConfig config = new SimulationConfig(Integer.parseInt(args[1]),
+            Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+            args[4].equals("Y") || args[4].equals("y"), Integer.parseInt(args[5]),
+            Integer.parseInt(args[6]), Long.parseLong(args[7]), maxSteps, threads, seed);
+    System.out.println("seed: " + seed + " | threads: " + threads);
+    System.out.println(new SimulationRunner().run(config, policies));
+  }
+
+  private static Supplier<Policy> policyFor(String name) {
+    switch (name.toLowerCase()) {
+      case "random":
+        return RandomWalkPolicy::new;
+      case "greedy":
+        return GreedyTreasurePolicy::new;
+      case "hunter":
+        return HunterPolicy::new;
+      default:
+        throw new IllegalArgumentException("Unknown policy: " + name);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package simulation;
+
+/**
+ * Represents the outcome of a simulation: how the games ended, how fast they were played and the
+ * latency of the individual steps. The report is immutable.
+ */
+public final class SimulationReport {
+  private final long games;
+  private final long wins;
+  private final long deaths;
+  private final long timeouts;
+  private final long generationFailures;
+  private final long steps;
+  private final long elapsedNanos;
+  private final LatencyHistogram latencies;
+
+  SimulationReport(long games, long wins, long deaths, long timeouts, long generationFailures,
+                   long steps, long elapsedNanos, LatencyHistogram latencies) {
+    this.games = games;
+    this.wins = wins;
+    this.deaths = deaths;
+    this.timeouts = timeouts;
+    this.generationFailures = generationFailures;
+    this.steps = steps;
+    this.elapsedNanos = elapsedNanos;
+    this.latencies = latencies;
+  }
+
+  /**
+   * Gets the no. of games that were played, including the ones for which no dungeon could be
+   * generated.
+   *
+   * @return the no. of games
+   */
+  public long getGames() {
+    return games;
+  }
+
+  public long getWins() {
+    return wins;
+  }
+
+  public long getDeaths() {
+    return deaths;
+  }
+
+  /**
+   * Gets the no. of games that were abandoned after the maximum no. of steps.
+   *
+   * @return the no. of abandoned games
+   */
+  public long getTimeouts() {
+    return timeouts;
+  }
+
+  /**
+   * Gets the no. of games for which the dungeon could not be generated, because no start and
+   * end caves at a distance of 5 or more were found.
+   *
+   * @return the no. of games that could not be played
+   */
+  public long getGenerationFailures() {
+    return generationFailures;
+  }
+
+  public long getSteps() {
+    return steps;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Gets the no. of games played per second of wall clock time, including the time taken to
+   * generate the dungeons.
+   *
+   * @return the games per second
+   */
+  public double getGamesPerSecond() {
+    return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Gets the fraction of the played games that the player won.
+   *
+   * @return the win rate, from 0 to 1
+   */
+  public double getWinRate() {
+    long played = games - generationFailures;
+    return played == 0 ? 0 : (double) wins / played;
+  }
+
+  /**
+   * Gets the latency of a step, which is choosing the action and performing it on the game,
+   * below which the given percentage of the steps lie.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the latency in nanoseconds
+   */
+  public long getStepLatencyPercentile(double percentile) {
+    return latencies.getPercentile(percentile);
+  }
+
+  public long getMaxStepLatency() {
+    return latencies.getMax();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("games: %d | wins: %d | deaths: %d | timeouts: %d | failed: %d%n"
+                    + "win rate: %.4f | games/sec: %.1f | steps: %d%n"
+                    + "step latency ns p50: %d | p90: %d | p99: %d | p99.9: %d | max: %d",
+            games, wins, deaths, timeouts, generationFailures, getWinRate(), getGamesPerSecond(),
+            steps, getStepLatencyPercentile(50), getStepLatencyPercentile(90),
+            getStepLatencyPercentile(99), getStepLatencyPercentile(99.9), getMaxStepLatency());
+  }
+}
@@ -0,0 +1,142 @@
+package simulation;
+
+import dungeon.DungeonGame;
+import dungeon.GameAction;
+import dungeon.GameModel;
+import randoms.Randomizer;
+import randoms.SplittableRandomizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Plays games headlessly, without a controller or view, with the player driven by a policy. The
+ * games are split evenly between the worker threads and every worker has its own randomizer,
+ * split in order from a randomizer seeded with the seed of the simulation, which it uses both to
+ * generate its dungeons and for its policies. A simulation with the same seed and no. of threads
+ * therefore plays the same games, however the threads are scheduled.
+ */
+public class SimulationRunner {
+  /**
+   * Runs the simulation.
+   *
+   * @param config   the parameters of the simulation
+   * @param policies creates the policy for every game
+   * @return the report of the simulation
+   * @throws IllegalArgumentException if the parameters of the dungeon are not valid
+   */
+  public SimulationReport run(SimulationConfig config, Supplier<? extends Policy> policies) {
+    if (config == null || policies == null) {
+      throw new IllegalArgumentException("Configuration and policies cannot be null.");
+    }
+    int threads = config.getThreads();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long start = System.nanoTime();
+    try {
+      SplittableRandomizer seeds = new SplittableRandomizer(config.getSeed());
+      List<Future<Worker>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        long games = config.getGames() / threads + (i < config.getGames() % threads ? 1 : 0);
+        Randomizer r = seeds.split();
+        Worker worker = new Worker(config, policies, r, games);
+        futures.add(executor.submit(worker::play));
+      }
+      Worker total = new Worker(config, policies, null, 0);
+      for (Future<Worker> f : futures) {
+        total.merge(f.get());
+      }
+      return new SimulationReport(config.getGames(), total.wins, total.deaths, total.timeouts,
+              total.generationFailures, total.steps, System.nanoTime() - start, total.latencies);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Simulation was interrupted.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IllegalArgumentException) {
+        throw (IllegalArgumentException) e.getCause();
+      }
+      throw new IllegalStateException("Simulation failed: " + e.getCause().getMessage(),
+              e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Plays the share of the games of one thread and counts their outcome.
+   */
+  private static final class Worker {
+    private final SimulationConfig config;
+    private final Supplier<? extends Policy> policies;
+    private final Randomizer r;
+    private final long games;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private long wins;
+    private long deaths;
+    private long timeouts;
+    private long generationFailures;
+    private long steps;
+
+    private Worker(SimulationConfig config, Supplier<? extends Policy> policies, Randomizer r,
+                   long games) {
+      this.config = config;
+      this.policies = policies;
+      this.r = r;
+      this.games = games;
+    }
+
+    private Worker play() {
+      for (long i = 0; i < games; i++) {
+        playGame();
+      }
+      return this;
+    }
+
+    private void playGame() {
+      GameModel g;
+      try {
+        g = new DungeonGame(config.getRowCount(), config.getColCount(),
+                config.getDegOfInterconnectivity(), config.isWrap(),
+                config.getPercentCavesForTreasure(), r, config.getOtyughCount());
+      } catch (IllegalStateException e) {
+        //the randomly chosen caves were too close to each other
+        generationFailures++;
+        return;
+      }
+      g.createPlayer();
+      g.addPlayerInDungeon();
+      Policy policy = policies.get();
+      int step = 0;
+      while (!g.isGameOver() && step < config.getMaxSteps()) {
+        long begin = System.nanoTime();
+        GameAction action = policy.nextAction(g, r);
+        int result = g.performActions(Collections.singletonList(action))[0];
+        policy.onResult(action, result);
+        latencies.record(System.nanoTime() - begin);
+        step++;
+      }
+      steps += step;
+      if (!g.isGameOver()) {
+        timeouts++;
+      } else if (g.isPlayerDead()) {
+        deaths++;
+      } else {
+        wins++;
+      }
+    }
+
+    private void merge(Worker other) {
+      wins += other.wins;
+      deaths += other.deaths;
+      timeouts += other.timeouts;
+      generationFailures += other.generationFailures;
+      steps += other.steps;
+      latencies.merge(other.latencies);
+    }
+  }
+}
@@ -13,6 +13,7 @@ import dungeon.GameControllerSwing;
 import dungeon.GameModel;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Class for testing the game controller using mock models of the game.
@@ -281,4 +282,48 @@ public class GameContollerMockTest {
     controller.handleCellClick(1, 2, true, 5, 5);
     assertEquals("Set Model called\nRefresh called\nRefresh called\n", log.toString());
   }
+
+  @Test
+  public void testMockViewInputsRejectedWhileGenerating() {
+    StringBuilder log = new StringBuilder();
+    DungeonGameView view = new MockView(log);
+    GameControllerSwing controller = new DungeonGameSwingController(view);
+    controller.createModel(8, 8, 5, true,
+            20, 64);
+    assertEquals("Show Input Error called: Number of Otyughs cannot be greater than the number "
+            + "of caves in the dungeon\n", log.toString());
+  }
+
+  @Test
+  public void testMockViewGameAfterRejectedInputs() {
+    StringBuilder log = new StringBuilder();
+    DungeonGameView view = new MockView(log);
+    GameControllerSwing controller = new DungeonGameSwingController(view);
+    controller.createModel(8, 8, 5, true,
+            20, 64);
+    log.setLength(0);
+    controller.createModel(8, 8, 5, true,
+            20, 1);
+    assertEquals("Set Model called\nRefresh called\n", log.toString());
+  }
+
+  @Test
+  public void testMockViewProgressOfLargeDungeon() {
+    StringBuilder log = new StringBuilder();
+    DungeonGameView view = new MockView(log);
+    GameControllerSwing controller = new DungeonGameSwingController(view);
+    controller.createModel(256, 256, 10, true,
+            10, 5);
+    String[] calls = log.toString().split("\n");
+    assertEquals("Show Progress called: 0", calls[0]);
+    assertEquals("Show Progress called: 100", calls[calls.length - 3]);
+    assertEquals("Set Model called", calls[calls.length - 2]);
+    assertEquals("Refresh called", calls[calls.length - 1]);
+    int previous = 0;
+    for (int i = 0; i < calls.length - 2; i++) {
+      int percent = Integer.parseInt(calls[i].substring("Show Progress called: ".length()));
+      assertTrue(percent >= previous);
+      previous = percent;
+    }
+  }
 }
@@ -5,9 +5,12 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
+import dungeon.Direction;
 import dungeon.DungeonGame;
+import dungeon.GameAction;
 import dungeon.GameModel;
 import randoms.RandomGenerator;
 import randoms.RandomGeneratorDummy;
@@ -711,6 +714,77 @@ public class GameModelTest {
     }
   }
 
+  @Test
+  public void testBatchActionsMatchSingleActions() {
+    Direction[] dirs = Direction.values();
+    GameAction.Item[] items = GameAction.Item.values();
+    String[] itemNames = {"D", "S", "R", "A", "AllTreasure", "AllArrows"};
+    for (long seed = 0; seed < 20; seed++) {
+      GameModel single = new DungeonGame(6, 7, 4, seed % 2 == 0, 50, new RandomGenerator(seed), 3);
+      GameModel batch = new DungeonGame(6, 7, 4, seed % 2 == 0, 50, new RandomGenerator(seed), 3);
+      single.createPlayer();
+      single.addPlayerInDungeon();
+      batch.createPlayer();
+      batch.addPlayerInDungeon();
+
+      Random random = new Random(seed);
+      List<GameAction> actions = new ArrayList<>();
+      List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        int kind = random.nextInt(3);
+        Direction dir = dirs[random.nextInt(dirs.length)];
+        if (single.isGameOver()) {
+          actions.add(GameAction.move(dir));
+          expected.add(GameAction.SKIPPED);
+        } else if (kind == 0) {
+          actions.add(GameAction.move(dir));
+          try {
+            expected.add(single.movePlayerTo(dir.toString()) ? 1 : 0);
+          } catch (IllegalArgumentException e) {
+            expected.add(GameAction.INVALID);
+          }
+        } else if (kind == 1) {
+          int item = random.nextInt(items.length);
+          String loc = single.getPlayerLocation();
+          int available = single.getDiamondCount(loc) + single.getSapphireCount(loc)
+                  + single.getRubyCount(loc);
+          int[] counts = {single.getDiamondCount(loc), single.getSapphireCount(loc),
+                  single.getRubyCount(loc), single.getArrowCount(loc), available,
+                  single.getArrowCount(loc)};
+          int count = item < 4 ? random.nextInt(3) : counts[item];
+          actions.add(GameAction.pick(items[item], count));
+          try {
+            single.pickItemAtLocation(itemNames[item], count);
+            expected.add(count > 0 ? count : GameAction.INVALID);
+          } catch (IllegalArgumentException e) {
+            expected.add(GameAction.INVALID);
+          }
+        } else {
+          int distance = random.nextInt(6);
+          actions.add(GameAction.shoot(dir, distance));
+          try {
+            expected.add(single.shootArrow(dir.toString(), distance));
+          } catch (IllegalArgumentException e) {
+            expected.add(GameAction.INVALID);
+          }
+        }
+      }
+      int[] results = batch.performActions(actions);
+      for (int i = 0; i < results.length; i++) {
+        assertEquals(actions.get(i).toString(), (int) expected.get(i), results[i]);
+      }
+      assertEquals(single.getPlayerLocation(), batch.getPlayerLocation());
+      assertEquals(single.getPlayerDescription(), batch.getPlayerDescription());
+      assertEquals(single.getOtyughLocations(), batch.getOtyughLocations());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testBatchActionsWithoutPlayer() {
+    GameModel g = new DungeonGame(5, 5, 2, false, 40, new RandomGenerator(7), 1);
+    g.performActions(new ArrayList<>());
+  }
+
   /**
    * Helper method to calculate the distance between the start and end location given all the
    * available paths in the dungeon.
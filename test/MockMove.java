@@ -1,5 +1,7 @@
 import java.util.List;
 
+import dungeon.GameAction;
+import dungeon.GameEventListener;
 import dungeon.GameModel;
 import dungeon.GameModelReadOnly;
 
@@ -130,4 +132,19 @@ public class MockMove implements GameModel, GameModelReadOnly {
   public List<String> getOtyughLocations() {
     return null;
   }
+
+  @Override
+  public int[] performActions(List<GameAction> actions) {
+    return null;
+  }
+
+  @Override
+  public void addGameEventListener(GameEventListener listener) {
+    //not used in this mock implementation
+  }
+
+  @Override
+  public void removeGameEventListener(GameEventListener listener) {
+    //not used in this mock implementation
+  }
 }
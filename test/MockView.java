@@ -91,4 +91,31 @@ public class MockView implements DungeonGameView {
     }
     return 1;
   }
-}
\ No newline at end of file
+
+  @Override
+  public void showProgress(int percent) {
+    try {
+      log.append("Show Progress called: " + percent + "\n");
+    } catch (IOException e) {
+      // do nothing
+    }
+  }
+
+  @Override
+  public void showError(String message) {
+    try {
+      log.append("Show Error called: " + message + "\n");
+    } catch (IOException e) {
+      // do nothing
+    }
+  }
+
+  @Override
+  public void showInputError(String message) {
+    try {
+      log.append("Show Input Error called: " + message + "\n");
+    } catch (IOException e) {
+      // do nothing
+    }
+  }
+}
@@ -6,8 +6,10 @@ import java.util.List;
 import randoms.RandomGenerator;
 import randoms.RandomGeneratorDummy;
 import randoms.Randomizer;
+import randoms.SplittableRandomizer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -48,4 +50,70 @@ public class RandomizerTest {
   public void getRandomIntMinValueCheckDummy() {
     r1.getRandomInt(5, 2);
   }
-}
\ No newline at end of file
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getRandomIntDummyExhausted() {
+    List<Integer> values = new ArrayList<>();
+    values.add(1);
+    r1.setDummyRandomValue(values);
+    r1.getRandomInt(0, 2);
+    r1.getRandomInt(0, 2);
+  }
+
+  @Test
+  public void setDummyRandomValueRefilledList() {
+    List<Integer> values = new ArrayList<>(List.of(1, 2, 3));
+    r1.setDummyRandomValue(values);
+    assertEquals(1, r1.getRandomInt(0, 10));
+    values.clear();
+    values.add(7);
+    values.add(8);
+    r1.setDummyRandomValue(values);
+    assertEquals(7, r1.getRandomInt(0, 10));
+    assertEquals(8, r1.getRandomInt(0, 10));
+  }
+
+  @Test
+  public void setDummyRandomValueAppendedAfterSet() {
+    List<Integer> values = new ArrayList<>(List.of(1));
+    r1.setDummyRandomValue(values);
+    assertEquals(1, r1.getRandomInt(0, 10));
+    values.add(2);
+    assertEquals(2, r1.getRandomInt(0, 10));
+    assertTrue(values.isEmpty());
+  }
+
+  @Test
+  public void splittableSameSeedSameValues() {
+    SplittableRandomizer first = new SplittableRandomizer(7);
+    SplittableRandomizer second = new SplittableRandomizer(7);
+    for (int i = 0; i < 100; i++) {
+      int value = first.getRandomInt(2, 9);
+      assertTrue(value >= 2 && value < 9);
+      assertEquals(value, second.getRandomInt(2, 9));
+    }
+  }
+
+  @Test
+  public void splittableSplitsAreReproducible() {
+    SplittableRandomizer first = new SplittableRandomizer(7);
+    SplittableRandomizer second = new SplittableRandomizer(7);
+    Randomizer firstSplit = first.split();
+    Randomizer secondSplit = second.split();
+    StringBuilder firstValues = new StringBuilder();
+    StringBuilder parentValues = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      int value = firstSplit.getRandomInt(0, 1000);
+      assertEquals(value, secondSplit.getRandomInt(0, 1000));
+      firstValues.append(value).append(' ');
+      parentValues.append(first.getRandomInt(0, 1000)).append(' ');
+    }
+    //the split does not repeat the values of the randomizer it was split from
+    assertNotEquals(firstValues.toString(), parentValues.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getRandomIntMinValueCheckSplittable() {
+    new SplittableRandomizer(1).getRandomInt(5, 2);
+  }
+}
@@ -0,0 +1,58 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class for testing the adjacency list of the dungeon paths and the breadth first search over it.
+ */
+public class BreadthFirstSearchTest {
+
+  @Test
+  public void testNeighboursInEdgeOrder() {
+    CellGraph g = new CellGraph(4, edges(0, 1, 2, 1, 1, 3));
+    assertEquals(1, g.getNeighbourCount(0));
+    assertEquals(3, g.getNeighbourCount(1));
+    assertEquals(0, g.getNeighbour(1, 0));
+    assertEquals(2, g.getNeighbour(1, 1));
+    assertEquals(3, g.getNeighbour(1, 2));
+  }
+
+  @Test
+  public void testDistancesFromSource() {
+    //0-1-2-3 in a line with 4 joined to 2 and 5 not connected
+    CellGraph g = new CellGraph(6, edges(0, 1, 1, 2, 2, 3, 4, 2));
+    BreadthFirstSearch search = new BreadthFirstSearch(g);
+    assertArrayEquals(new int[]{0, 1, 2, 3, 3, BreadthFirstSearch.UNREACHABLE},
+            search.distancesFrom(0));
+    assertArrayEquals(new int[]{2, 1, 0, 1, 1, BreadthFirstSearch.UNREACHABLE},
+            search.distancesFrom(2));
+  }
+
+  @Test
+  public void testDistanceWithCycle() {
+    CellGraph g = new CellGraph(5, edges(0, 1, 1, 2, 2, 3, 3, 4, 4, 0));
+    BreadthFirstSearch search = new BreadthFirstSearch(g);
+    assertEquals(2, search.distance(0, 3));
+    assertEquals(0, search.distance(4, 4));
+    assertEquals(1, search.distance(4, 0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSource() {
+    new BreadthFirstSearch(new CellGraph(2, edges(0, 1))).distancesFrom(2);
+  }
+
+  private List<Edge> edges(int... cells) {
+    List<Edge> edges = new ArrayList<>();
+    for (int i = 0; i < cells.length; i += 2) {
+      edges.add(new DungeonEdge(cells[i], cells[i + 1]));
+    }
+    return edges;
+  }
+}
@@ -0,0 +1,118 @@
+package dungeon;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class for testing the storage of the records of the cells on and off the heap.
+ */
+public class CellStoreTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testHeapStore() {
+    checkStore(CellStorage.heap().create(50, 4));
+  }
+
+  @Test
+  public void testMappedStore() {
+    CellStorage storage = CellStorage.mapped(folder.getRoot().toPath());
+    assertTrue(storage.isMapped());
+    assertFalse(CellStorage.heap().isMapped());
+    checkStore(storage.create(50, 4));
+    //the temporary files are deleted once mapped
+    assertEquals(0, folder.getRoot().list().length);
+  }
+
+  @Test
+  public void testMappedDungeonPlaysLikeHeapDungeon() {
+    CellStorage mapped = CellStorage.mapped(folder.getRoot().toPath());
+    DungeonGame onHeap = createGame(CellStorage.heap());
+    DungeonGame offHeap = createGame(mapped);
+    assertEquals(onHeap.getEdges(), offHeap.getEdges());
+    onHeap.createPlayer();
+    onHeap.addPlayerInDungeon();
+    offHeap.createPlayer();
+    offHeap.addPlayerInDungeon();
+    List<GameAction> actions = new ArrayList<>();
+    for (Direction dir : Direction.values()) {
+      actions.add(GameAction.pickAll(GameAction.Item.ALL_TREASURE));
+      actions.add(GameAction.shoot(dir, 1));
+      actions.add(GameAction.move(dir));
+    }
+    for (GameAction action : actions) {
+      List<GameAction> step = Collections.singletonList(action);
+      assertEquals(onHeap.performActions(step)[0], offHeap.performActions(step)[0]);
+      assertEquals(onHeap.getPlayerDescription(), offHeap.getPlayerDescription());
+    }
+    for (int row = 0; row < 8; row++) {
+      for (int col = 0; col < 8; col++) {
+        String loc = row + "-" + col;
+        assertEquals(onHeap.getNextPossibleMoves(loc), offHeap.getNextPossibleMoves(loc));
+        assertEquals(onHeap.getAvailableItems(loc), offHeap.getAvailableItems(loc));
+      }
+    }
+  }
+
+  @Test
+  public void testRestartedMappedGameStartsOver() {
+    DungeonGame g = createGame(CellStorage.mapped(folder.getRoot().toPath()));
+    g.createPlayer();
+    g.addPlayerInDungeon();
+    String start = g.getPlayerLocation();
+    String initial = g.getAvailableItems(start);
+    g.performActions(Collections.singletonList(GameAction.pickAll(GameAction.Item.ALL_TREASURE)));
+    g.performActions(Collections.singletonList(GameAction.pickAll(GameAction.Item.ALL_ARROWS)));
+    assertEquals("", g.getAvailableItems(start));
+    for (int i = 0; i < 3; i++) {
+      //the restarted game reuses the store of the discarded dungeon
+      g.refresh();
+      g.createPlayer();
+      g.addPlayerInDungeon();
+      assertEquals(initial, g.getAvailableItems(start));
+      g.performActions(Collections.singletonList(GameAction.pickAll(GameAction.Item.ALL_ARROWS)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCopyFromStoreOfOtherSize() {
+    CellStorage.heap().create(50, 4).copyFrom(CellStorage.heap().create(50, 1));
+  }
+
+  private static DungeonGame createGame(CellStorage storage) {
+    return TestDungeons.createGame(8, 8, true, 70, 2, 1, storage);
+  }
+
+  private static void checkStore(CellStore store) {
+    assertEquals(50, store.getCellCount());
+    assertEquals(4, store.getRecordWidth());
+    for (int cell = 0; cell < 50; cell++) {
+      for (int field = 0; field < 4; field++) {
+        assertEquals(0, store.get(cell, field));
+        store.set(cell, field, (byte) (cell + field));
+      }
+    }
+    CellStore copy = store.copy();
+    copy.set(7, 2, (byte) -1);
+    assertEquals(9, store.get(7, 2));
+    assertEquals(-1, copy.get(7, 2));
+    assertEquals(49 + 3, copy.get(49, 3));
+    //a store is overwritten from a store of either kind
+    store.copyFrom(copy);
+    assertEquals(-1, store.get(7, 2));
+    CellStore heap = CellStorage.heap().create(50, 4);
+    heap.copyFrom(store);
+    assertEquals(-1, heap.get(7, 2));
+    assertEquals(49 + 3, heap.get(49, 3));
+  }
+}
@@ -0,0 +1,97 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import randoms.RandomGenerator;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class for testing that the precomputed corridors land the arrow at the same location as
+ * walking the arrow one location at a time.
+ */
+public class CorridorTableTest {
+
+  @Test
+  public void testLandingMatchesStepByStepFlight() {
+    for (boolean isWrap : new boolean[]{false, true}) {
+      for (int i = 0; i < 10; i++) {
+        MasterDungeon d = new MasterDungeon(8, 9, 6, isWrap, 20, new RandomGenerator(i), 1);
+        GridTopology t = d.getTopology();
+        CorridorTable corridors = new CorridorTable(t, new CellGraph(t.getCellCount(),
+                d.getEdges()));
+        for (int cell = 0; cell < t.getCellCount(); cell++) {
+          for (Direction dir : GridTopology.DIRECTIONS) {
+            if (t.getNext(cell, dir) == -1) {
+              continue;
+            }
+            for (int distance = 1; distance <= 5; distance++) {
+              assertEquals(fly(t, d.getEdges(), cell, dir, distance),
+                      corridors.getLanding(cell, dir, distance));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCorridorCells() {
+    //cave 0 joined to cave 3 through the tunnels 1 and 2, cave 3 has a dead end to the east
+    GridTopology t = new GridTopology(1, 5, false);
+    List<Edge> edges = List.of(new DungeonEdge(0, 1), new DungeonEdge(1, 2),
+            new DungeonEdge(2, 3));
+    for (Edge e : edges) {
+      t.openDoors(e.getP1(), Direction.E.getMask());
+      t.openDoors(e.getP2(), Direction.W.getMask());
+    }
+    t.openDoors(3, Direction.E.getMask() | Direction.S.getMask());
+    CorridorTable corridors = new CorridorTable(t, new CellGraph(5, edges));
+    assertEquals(3, corridors.getLength(0, Direction.E));
+    assertEquals(1, corridors.getCell(0, Direction.E, 0));
+    assertEquals(3, corridors.getCell(0, Direction.E, 2));
+    assertEquals(3, corridors.getEnd(0, Direction.E));
+    assertEquals(0, corridors.getEnd(3, Direction.W));
+    assertEquals(0, corridors.getLength(0, Direction.W));
+    assertEquals(3, corridors.getLanding(0, Direction.E, 1));
+    assertEquals(4, corridors.getLanding(0, Direction.E, 2));
+    assertEquals(3, corridors.getLanding(1, Direction.E, 1));
+    assertEquals(0, corridors.getLanding(2, Direction.W, 1));
+  }
+
+  private int fly(GridTopology t, List<Edge> edges, int cell, Direction dir, int distance) {
+    int prev = cell;
+    int curr = t.getNext(cell, dir);
+    if (!t.isTunnel(curr)) {
+      distance--;
+    }
+    while (distance != 0) {
+      int next;
+      if (!t.isTunnel(curr)) {
+        next = t.getNext(curr, t.getDirection(prev, curr));
+      } else {
+        next = -1;
+        for (Edge e : edges) {
+          if (e.getP1() == curr && e.getP2() != prev) {
+            next = e.getP2();
+            break;
+          } else if (e.getP2() == curr && e.getP1() != prev) {
+            next = e.getP1();
+            break;
+          }
+        }
+      }
+      prev = curr;
+      curr = next;
+      if (curr == -1) {
+        return -1;
+      }
+      if (!t.isTunnel(curr)) {
+        distance--;
+      }
+    }
+    return curr;
+  }
+}
@@ -0,0 +1,73 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import randoms.RandomGenerator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Class for testing the cached distances between the locations of the dungeon.
+ */
+public class DistanceFieldTest {
+
+  @Test
+  public void testRepeatedQueryIsCached() {
+    DistanceField f = new DistanceField(line(5), 1024);
+    int[] first = f.getDistances(0);
+    assertEquals(4, f.getDistance(0, 4));
+    assertSame(first, f.getDistances(0));
+    assertEquals(1, f.getMissCount());
+    assertEquals(2, f.getHitCount());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedSourceEvicted() {
+    //budget for the distances from 2 sources of a 5 cell dungeon
+    DistanceField f = new DistanceField(line(5), 40);
+    f.getDistances(0);
+    f.getDistances(1);
+    f.getDistances(0);
+    f.getDistances(2);
+    assertEquals(2, f.getCachedSourceCount());
+    f.getDistances(0);
+    assertEquals(3, f.getMissCount());
+    f.getDistances(1);
+    assertEquals(4, f.getMissCount());
+  }
+
+  @Test
+  public void testAtLeastOneSourceCached() {
+    DistanceField f = new DistanceField(line(5), 0);
+    assertEquals(2, f.getDistance(3, 1));
+    assertEquals(1, f.getCachedSourceCount());
+    f.clear();
+    assertEquals(0, f.getCachedSourceCount());
+  }
+
+  @Test
+  public void testTerminalsAtLeast5Apart() {
+    for (long seed = 0; seed < 10; seed++) {
+      MasterDungeon d = new MasterDungeon(6, 6, 3, true, 20, new RandomGenerator(seed), 1);
+      assertEquals(true,
+              d.getDistanceField().getDistance(d.getStartLocation(), d.getEndLocation()) >= 5);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidTarget() {
+    new DistanceField(line(3), 1024).getDistance(0, 3);
+  }
+
+  private CellGraph line(int cellCount) {
+    List<Edge> edges = new ArrayList<>();
+    for (int i = 0; i < cellCount - 1; i++) {
+      edges.add(new DungeonEdge(i, i + 1));
+    }
+    return new CellGraph(cellCount, edges);
+  }
+}
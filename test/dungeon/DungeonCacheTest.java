@@ -0,0 +1,88 @@
+package dungeon;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Class for testing the cache of the generated dungeons.
+ */
+public class DungeonCacheTest {
+
+  @Test
+  public void testRepeatedKeyCopiesCachedDungeon() {
+    DungeonCache cache = new DungeonCache(1000);
+    DungeonGame first = start(cache.createGame(8, 8, 4, true, 50, 3, 5));
+    DungeonGame second = start(cache.createGame(8, 8, 4, true, 50, 3, 5));
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getSize());
+    assertEquals(64, cache.getCellCount());
+    assertEquals(describe(first), describe(second));
+    //a new cache generates the same dungeon from the same seed
+    assertEquals(describe(first), describe(start(new DungeonCache(0).createGame(8, 8, 4, true,
+            50, 3, 5))));
+    assertNotEquals(describe(first), describe(start(cache.createGame(8, 8, 4, true, 50, 3, 6))));
+  }
+
+  @Test
+  public void testGamesDoNotShareState() {
+    DungeonCache cache = new DungeonCache(1000);
+    DungeonGame first = start(cache.createGame(8, 8, 4, false, 100, 2, 3));
+    String before = describe(first);
+    first.pickItemAtLocation("AllTreasure", 0);
+    first.pickItemAtLocation("AllArrows", 0);
+    assertNotEquals(before, describe(first));
+    assertEquals(before, describe(start(cache.createGame(8, 8, 4, false, 100, 2, 3))));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedDungeonEvicted() {
+    //room for the locations of 2 dungeons
+    DungeonCache cache = new DungeonCache(128);
+    cache.createGame(8, 8, 4, true, 50, 3, 5);
+    cache.createGame(8, 8, 4, true, 50, 3, 6);
+    cache.createGame(8, 8, 4, true, 50, 3, 5);
+    cache.createGame(8, 8, 4, true, 50, 3, 7);
+    assertEquals(2, cache.getSize());
+    assertEquals(1, cache.getEvictionCount());
+    cache.createGame(8, 8, 4, true, 50, 3, 5);
+    assertEquals(2, cache.getHitCount());
+    cache.createGame(8, 8, 4, true, 50, 3, 6);
+    assertEquals(4, cache.getMissCount());
+  }
+
+  @Test
+  public void testDungeonLargerThanCacheNotCached() {
+    DungeonCache cache = new DungeonCache(50);
+    cache.createGame(8, 8, 4, true, 50, 3, 5);
+    assertEquals(0, cache.getSize());
+    assertEquals(0, cache.getCellCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDungeon() {
+    new DungeonCache(1000).createGame(2, 2, 0, false, 50, 1, 1);
+  }
+
+  private static DungeonGame start(DungeonGame g) {
+    g.createPlayer();
+    g.addPlayerInDungeon();
+    return g;
+  }
+
+  private static String describe(DungeonGame g) {
+    StringBuilder s = new StringBuilder();
+    s.append(g.getStartLocation()).append(' ').append(g.getEndLocation()).append(' ')
+            .append(g.getOtyughLocations()).append('\n');
+    for (int row = 0; row < 8; row++) {
+      for (int col = 0; col < 8; col++) {
+        String loc = row + "-" + col;
+        s.append(loc).append(' ').append(g.getNextPossibleMoves(loc)).append(' ')
+                .append(g.getAvailableItems(loc)).append('\n');
+      }
+    }
+    return s.toString();
+  }
+}
@@ -0,0 +1,123 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class for testing the generation of the dungeons off the calling thread.
+ */
+public class DungeonGeneratorServiceTest {
+
+  @Test
+  public void testSynchronousGeneration() {
+    DungeonGeneratorService service = new DungeonGeneratorService(Runnable::run, Runnable::run);
+    RecordingListener listener = new RecordingListener();
+    service.generate(6, 6, 2, false, 50, 2, listener);
+    assertEquals("generated\n", listener.log.toString());
+    assertNotNull(listener.game);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidParametersRejectedBeforeGeneration() {
+    DungeonGeneratorService service = new DungeonGeneratorService(1, Runnable::run);
+    service.generate(2, 6, 2, false, 50, 2, new RecordingListener());
+  }
+
+  @Test
+  public void testProgressReportedForLargeDungeon() {
+    DungeonGeneratorService service = new DungeonGeneratorService(Runnable::run, Runnable::run);
+    RecordingListener listener = new RecordingListener();
+    service.generate(256, 256, 10, true, 10, 5, listener);
+    //the progress is reported as every stage completes
+    StringBuilder expected = new StringBuilder("progress 0\n");
+    int percent = 0;
+    for (GenerationStage stage : GenerationStage.values()) {
+      percent += stage.getWeight();
+      expected.append("progress ").append(percent).append('\n');
+    }
+    expected.append("generated\n");
+    assertEquals(expected.toString(), listener.log.toString());
+    assertEquals(100, percent);
+  }
+
+  @Test
+  public void testCancelledGenerationFails() {
+    List<Runnable> tasks = new ArrayList<>();
+    DungeonGeneratorService service = new DungeonGeneratorService(tasks::add, Runnable::run);
+    RecordingListener listener = new RecordingListener();
+    GenerationProgress progress = service.generate(8, 8, 4, true, 50, 2, listener);
+    progress.cancel();
+    tasks.forEach(Runnable::run);
+    assertEquals("failed\n", listener.log.toString());
+    assertTrue(listener.failure instanceof CancellationException);
+  }
+
+  @Test
+  public void testSpareServesNextGame() throws InterruptedException {
+    DungeonGeneratorService service = new DungeonGeneratorService(2, Runnable::run);
+    service.setSpeculative(true);
+    List<DungeonGame> games = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      RecordingListener listener = new RecordingListener();
+      service.generate(8, 8, 4, true, 50, 2, listener);
+      assertTrue(listener.done.await(10, TimeUnit.SECONDS));
+      games.add(listener.game);
+    }
+    //the first game has no spare to be served from
+    assertEquals(2, service.getSpareHitCount());
+    assertTrue(games.get(0) != games.get(1) && games.get(1) != games.get(2));
+    service.shutdown();
+  }
+
+  @Test
+  public void testChangedParametersDiscardSpare() throws InterruptedException {
+    DungeonGeneratorService service = new DungeonGeneratorService(2, Runnable::run);
+    service.setSpeculative(true);
+    RecordingListener first = new RecordingListener();
+    service.generate(8, 8, 4, true, 50, 2, first);
+    assertTrue(first.done.await(10, TimeUnit.SECONDS));
+    RecordingListener second = new RecordingListener();
+    service.generate(9, 9, 4, true, 50, 2, second);
+    assertTrue(second.done.await(10, TimeUnit.SECONDS));
+    assertEquals(0, service.getSpareHitCount());
+    service.shutdown();
+  }
+
+  /**
+   * Records the calls made to the listener.
+   */
+  private static class RecordingListener implements GenerationListener {
+    private final StringBuilder log = new StringBuilder();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private DungeonGame game;
+    private RuntimeException failure;
+
+    @Override
+    public void onProgress(int percent) {
+      log.append("progress ").append(percent).append('\n');
+    }
+
+    @Override
+    public void onGenerated(DungeonGame game) {
+      this.game = game;
+      log.append("generated\n");
+      done.countDown();
+    }
+
+    @Override
+    public void onFailed(RuntimeException e) {
+      failure = e;
+      log.append("failed\n");
+      done.countDown();
+    }
+  }
+}
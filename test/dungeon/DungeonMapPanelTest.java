@@ -0,0 +1,70 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JScrollPane;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Class for testing the map of the dungeon drawn by the swing view.
+ */
+public class DungeonMapPanelTest {
+  private static final int SIZE = 40;
+
+  @Test
+  public void testPlayerCentredInView() {
+    DungeonGame g = TestDungeons.start(TestDungeons.createGame(SIZE, SIZE, false, 50, 5, 1));
+    DungeonMapPanel map = new DungeonMapPanel(SpriteAtlas.getInstance());
+    JScrollPane pane = createPane(map);
+    map.update(g, SIZE, SIZE);
+    layout(pane);
+    map.centreOn("20-20");
+    assertEquals(new Point(20 * 64 + 32 - 320, 20 * 64 + 32 - 240),
+            pane.getViewport().getViewPosition());
+    //the view stops at the edges of the map
+    map.centreOn("0-" + (SIZE - 1));
+    assertEquals(new Point(SIZE * 64 - 640, 0), pane.getViewport().getViewPosition());
+  }
+
+  @Test
+  public void testOnlyVisibleLocationsPainted() {
+    DungeonGame g = TestDungeons.start(TestDungeons.createGame(SIZE, SIZE, false, 50, 5, 1));
+    DungeonMapPanel map = new DungeonMapPanel(SpriteAtlas.getInstance());
+    JScrollPane pane = createPane(map);
+    map.update(g, SIZE, SIZE);
+    layout(pane);
+    map.centreOn("20-20");
+    Rectangle visible = map.getVisibleRect();
+    BufferedImage image = new BufferedImage(SIZE * 64, SIZE * 64, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = image.createGraphics();
+    map.paint(graphics);
+    graphics.dispose();
+    //the locations entirely outside the view are left as the background
+    int background = map.getBackground().getRGB();
+    assertNotEquals(background, image.getRGB(visible.x + 1, visible.y + 1));
+    assertEquals(background, image.getRGB(visible.x - 64, visible.y - 64));
+    assertEquals(background, image.getRGB(visible.x + visible.width + 64,
+            visible.y + visible.height + 64));
+  }
+
+  private static JScrollPane createPane(DungeonMapPanel map) {
+    JScrollPane pane = new JScrollPane(map, JScrollPane.VERTICAL_SCROLLBAR_NEVER,
+            JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+    pane.setBorder(null);
+    pane.setSize(640, 480);
+    return pane;
+  }
+
+  //the pane has no screen in the tests, so it is laid out directly instead of validated
+  private static void layout(JScrollPane pane) {
+    pane.doLayout();
+    pane.getViewport().doLayout();
+  }
+}
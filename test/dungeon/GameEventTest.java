@@ -0,0 +1,96 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import randoms.Randomizer;
+import randoms.SplittableRandomizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class for testing the events published by the game to its listeners.
+ */
+public class GameEventTest {
+
+  @Test
+  public void testMoveEvents() {
+    DungeonGame g = TestDungeons.createGame(6, 8, 1, 1);
+    List<String> events = new ArrayList<>();
+    GameEventListener listener = e -> events.add(e.toString());
+    g.addGameEventListener(listener);
+    g.createPlayer();
+    g.addPlayerInDungeon();
+    String start = g.getPlayerLocation();
+    assertEquals(Arrays.asList("GAME_STARTED " + start, "LOCATION_REVEALED " + start), events);
+
+    events.clear();
+    String move = g.getNextPossibleMoves(start).trim().split(" ")[0];
+    g.movePlayerTo(move);
+    String next = g.getPlayerLocation();
+    assertEquals("PLAYER_MOVED " + start + "->" + next, events.get(0));
+    assertEquals("LOCATION_REVEALED " + next, events.get(1));
+
+    //moving back does not reveal the start again
+    events.clear();
+    g.movePlayerTo(Direction.valueOf(move).opposite().toString());
+    assertEquals(Collections.singletonList("PLAYER_MOVED " + next + "->" + start), events);
+
+    events.clear();
+    g.removeGameEventListener(listener);
+    g.movePlayerTo(move);
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testEventsKeepListenerUpToDate() {
+    int kills = 0;
+    int hits = 0;
+    int ends = 0;
+    for (long seed = 1; seed <= 10; seed++) {
+      DungeonGame g = TestDungeons.createGame(7, 9, 12, seed);
+      Set<String> visited = new HashSet<>();
+      Set<String> otyughs = new HashSet<>();
+      List<GameEvent> events = new ArrayList<>();
+      g.addGameEventListener(e -> {
+        events.add(e);
+        if (e.getType() == GameEvent.Type.LOCATION_REVEALED) {
+          visited.add(e.getLocation());
+        } else if (e.getType() == GameEvent.Type.OTYUGH_KILLED) {
+          assertTrue(otyughs.remove(e.getLocation()));
+        } else if (e.getType() == GameEvent.Type.OTYUGH_DAMAGED) {
+          assertTrue(otyughs.contains(e.getLocation()));
+        }
+      });
+      g.createPlayer();
+      otyughs.addAll(g.getOtyughLocations());
+      g.addPlayerInDungeon();
+      Randomizer r = new SplittableRandomizer(seed);
+      for (int i = 0; i < 80 && !g.isGameOver(); i++) {
+        g.performActions(Collections.singletonList(TestDungeons.nextAction(g, r, i)));
+        assertEquals(new HashSet<>(g.getAllVisitedLocations()), visited);
+        assertEquals(new HashSet<>(g.getOtyughLocations()), otyughs);
+      }
+      for (GameEvent e : events) {
+        kills += e.getType() == GameEvent.Type.OTYUGH_KILLED ? 1 : 0;
+        hits += e.getType() == GameEvent.Type.OTYUGH_DAMAGED ? 1 : 0;
+      }
+      if (g.isGameOver()) {
+        ends++;
+        GameEvent last = events.get(events.size() - 1);
+        assertEquals(GameEvent.Type.GAME_OVER, last.getType());
+        assertEquals(g.getPlayerLocation(), last.getLocation());
+      }
+    }
+    assertTrue(kills > 0);
+    assertTrue(hits >= kills);
+    assertTrue(ends > 0);
+  }
+}
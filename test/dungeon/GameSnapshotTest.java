@@ -0,0 +1,133 @@
+package dungeon;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import randoms.Randomizer;
+import randoms.SplittableRandomizer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class for testing the saving and loading of games.
+ */
+public class GameSnapshotTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testLoadedGameMatchesSavedGame() throws IOException {
+    DungeonGame game = TestDungeons.createGame(9, 11, true, 60, 3, 1);
+    play(game, new SplittableRandomizer(4), 60);
+    Path file = folder.newFile().toPath();
+    GameSnapshot.save(game, file);
+    DungeonGame loaded = GameSnapshot.load(file);
+    assertEquals(describe(game, 9, 11), describe(loaded, 9, 11));
+    assertEquals(game.getEdges(), loaded.getEdges());
+
+    //both games restart to the same dungeon
+    game.refresh();
+    loaded.refresh();
+    TestDungeons.start(game);
+    TestDungeons.start(loaded);
+    assertEquals(describe(game, 9, 11), describe(loaded, 9, 11));
+  }
+
+  @Test
+  public void testArrowsFlyTheSameAfterLoad() throws IOException {
+    DungeonGame game = TestDungeons.createGame(8, 8, true, 60, 3, 1);
+    play(game, new SplittableRandomizer(9), 20);
+    Path file = folder.newFile().toPath();
+    GameSnapshot.save(game, file);
+    DungeonGame loaded = GameSnapshot.load(file);
+    for (Direction dir : Direction.values()) {
+      for (int distance = 1; distance <= 3; distance++) {
+        List<GameAction> shot = Collections.singletonList(GameAction.shoot(dir, distance));
+        assertArrayEquals(game.performActions(shot), loaded.performActions(shot));
+      }
+    }
+    assertEquals(describe(game, 8, 8), describe(loaded, 8, 8));
+  }
+
+  @Test
+  public void testGameWithoutPlayer() throws IOException {
+    DungeonGame game = TestDungeons.createGame(6, 6, false, 60, 3, 1);
+    Path file = folder.newFile().toPath();
+    GameSnapshot.save(game, file);
+    DungeonGame loaded = GameSnapshot.load(file);
+    TestDungeons.start(game);
+    TestDungeons.start(loaded);
+    assertEquals(describe(game, 6, 6), describe(loaded, 6, 6));
+  }
+
+  @Test(expected = IOException.class)
+  public void testNotASavedGame() throws IOException {
+    Path file = folder.newFile().toPath();
+    Files.write(file, "not a game".getBytes());
+    GameSnapshot.load(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void testUnknownVersion() throws IOException {
+    Path file = folder.newFile().toPath();
+    GameSnapshot.save(TestDungeons.createGame(6, 6, false, 60, 3, 1), file);
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[5]++;
+    Files.write(file, bytes);
+    GameSnapshot.load(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void testTruncatedGame() throws IOException {
+    Path file = folder.newFile().toPath();
+    GameSnapshot.save(TestDungeons.createGame(6, 6, false, 60, 3, 1), file);
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+    GameSnapshot.load(file);
+  }
+
+  private static void play(DungeonGame g, Randomizer r, int steps) {
+    TestDungeons.start(g);
+    for (int i = 0; i < steps && !g.isGameOver(); i++) {
+      String[] moves = g.getNextPossibleMoves(g.getPlayerLocation()).trim().split(" ");
+      Direction dir = Direction.valueOf(moves[r.getRandomInt(0, moves.length)]);
+      GameAction action;
+      if (i % 3 == 0) {
+        action = GameAction.pickAll(GameAction.Item.ALL_TREASURE);
+      } else if (i % 7 == 0) {
+        action = GameAction.shoot(dir, 1);
+      } else {
+        action = GameAction.move(dir);
+      }
+      g.performActions(Collections.singletonList(action));
+    }
+  }
+
+  private static String describe(DungeonGame g, int rows, int cols) {
+    StringBuilder s = new StringBuilder();
+    s.append(g.getStartLocation()).append(' ').append(g.getEndLocation()).append(' ')
+            .append(g.getOtyughLocations()).append('\n')
+            .append(g.getPlayerLocation()).append(' ').append(g.getPlayerDescription())
+            .append(' ').append(g.isPlayerDead()).append(' ')
+            .append(g.getAllVisitedLocations()).append('\n');
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        String loc = row + "-" + col;
+        s.append(loc).append(' ').append(g.getNextPossibleMoves(loc)).append(' ')
+                .append(g.getLocationType(loc)).append(' ').append(g.getLocationSmell(loc))
+                .append(' ').append(g.getAvailableItems(loc)).append('\n');
+      }
+    }
+    return s.toString();
+  }
+}
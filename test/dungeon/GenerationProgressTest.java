@@ -0,0 +1,159 @@
+package dungeon;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import randoms.SplittableRandomizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Class for testing the staged generation of the dungeons.
+ */
+public class GenerationProgressTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testEveryStageTimed() {
+    List<Integer> reported = new ArrayList<>();
+    GenerationProgress progress = new GenerationProgress(reported::add);
+    createGame(progress);
+    assertEquals(100, progress.getPercentDone());
+    assertNull(progress.getCurrentStage());
+    assertEquals(GenerationStage.values().length, reported.size());
+    long total = 0;
+    for (GenerationStage stage : GenerationStage.values()) {
+      assertTrue(progress.getStageNanos(stage) > 0);
+      total += progress.getStageNanos(stage);
+    }
+    assertEquals(total, progress.getTotalNanos());
+  }
+
+  @Test
+  public void testMetricsCountWork() {
+    GenerationProgress progress = new GenerationProgress();
+    createGame(progress);
+    GenerationMetrics metrics = progress.getMetrics();
+    //every horizontal and vertical edge of the 12x12 grid without wrapping
+    assertEquals(2 * 12 * 11, metrics.getEdgesConsidered());
+    assertTrue(metrics.getTerminalAttempts() >= 1);
+    assertTrue(metrics.getTerminalSearches() >= 1);
+    assertTrue(metrics.getTerminalSearches() <= metrics.getTerminalAttempts());
+    assertTrue(metrics.getOtyughRetries() >= 0 && metrics.getTreasureRetries() >= 0
+            && metrics.getArrowRetries() >= 0);
+    if (GenerationMetrics.isAllocationMeasured()) {
+      assertTrue(metrics.getStageAllocatedBytes(GenerationStage.EDGES) > 0);
+      assertTrue(metrics.getTotalAllocatedBytes()
+              >= metrics.getStageAllocatedBytes(GenerationStage.MAZE));
+    } else {
+      assertEquals(-1, metrics.getTotalAllocatedBytes());
+    }
+    assertTrue(metrics.toString().contains("MAZE"));
+  }
+
+  @Test
+  public void testStagesRecordedByFlightRecorder() throws IOException {
+    Path file = folder.newFile("generation.jfr").toPath();
+    try (Recording recording = new Recording()) {
+      recording.enable("dungeon.GenerationStage");
+      recording.start();
+      createGame(new GenerationProgress());
+      recording.stop();
+      recording.dump(file);
+    }
+    List<String> stages = new ArrayList<>();
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      if (event.getEventType().getName().equals("dungeon.GenerationStage")) {
+        stages.add(event.getString("stage"));
+      }
+    }
+    assertEquals(GenerationStage.values().length, stages.size());
+    assertEquals("EDGES", stages.get(0));
+  }
+
+  @Test
+  public void testGenerationWithoutFlightRecorder() throws IOException, InterruptedException {
+    //the generation runs in a virtual machine whose modules leave out the flight recorder and
+    //the management of the threads
+    Process process = new ProcessBuilder(
+            System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+            "--limit-modules", "java.base,java.desktop",
+            "-cp", System.getProperty("java.class.path"),
+            WithoutFlightRecorder.class.getName())
+            .redirectErrorStream(true).start();
+    String output = new String(process.getInputStream().readAllBytes(),
+            StandardCharsets.UTF_8);
+    assertEquals(output, 0, process.waitFor());
+    //the allocations are not measured without the management modules
+    assertEquals("generated 8, allocated -1", output.trim());
+  }
+
+  @Test
+  public void testStagedGenerationCreatesSameDungeon() {
+    DungeonGame staged = createGame(new GenerationProgress());
+    DungeonGame plain = new DungeonGame(12, 12, 6, false, 50, new SplittableRandomizer(5), 3);
+    assertEquals(plain.getEdges(), staged.getEdges());
+    assertEquals(plain.getOtyughLocations(), staged.getOtyughLocations());
+  }
+
+  @Test
+  public void testCancelledBetweenStages() {
+    //the generation is cancelled once the maze has been carved
+    int carved = GenerationStage.EDGES.getWeight() + GenerationStage.MAZE.getWeight();
+    GenerationProgress[] progress = new GenerationProgress[1];
+    progress[0] = new GenerationProgress(percent -> {
+      if (percent == carved) {
+        progress[0].cancel();
+      }
+    });
+    try {
+      createGame(progress[0]);
+      fail("Generation was not cancelled.");
+    } catch (CancellationException e) {
+      assertEquals(carved, progress[0].getPercentDone());
+      assertEquals(0, progress[0].getStageNanos(GenerationStage.INTERCONNECTIVITY));
+    }
+  }
+
+  private static DungeonGame createGame(GenerationProgress progress) {
+    return new DungeonGame(12, 12, 6, false, 50, new SplittableRandomizer(5), 3,
+            CellStorage.heap(), progress);
+  }
+
+  /**
+   * Generates a dungeon in the virtual machine started by the test without the flight recorder
+   * and the management modules. It does not use the test class, whose recordings need the
+   * flight recorder to load.
+   */
+  public static class WithoutFlightRecorder {
+    /**
+     * Generates the dungeon and prints its no. of rows and the heap allocated to generate it.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+      GenerationProgress progress = new GenerationProgress();
+      DungeonGame game = new DungeonGame(8, 8, 2, false, 50, new SplittableRandomizer(3), 1,
+              CellStorage.heap(), progress);
+      System.out.println("generated " + game.getDungeon().getTopology().getRowCount()
+              + ", allocated " + progress.getMetrics().getTotalAllocatedBytes());
+    }
+  }
+}
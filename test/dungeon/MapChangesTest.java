@@ -0,0 +1,120 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import randoms.Randomizer;
+import randoms.SplittableRandomizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class for testing the locations collected from the events of a game as changed for the view.
+ */
+public class MapChangesTest {
+
+  @Test
+  public void testFullRedrawUntilTaken() {
+    DungeonGame g = TestDungeons.createGame(6, 8, 2, 1);
+    MapChangeCollector collector = new MapChangeCollector(6, 8);
+    g.addGameEventListener(collector);
+    TestDungeons.start(g);
+    assertTrue(collector.take().isFullRedraw());
+    MapChanges changes = collector.take();
+    assertFalse(changes.isFullRedraw());
+    assertTrue(changes.getLocations().isEmpty());
+    g.refresh();
+    TestDungeons.start(g);
+    assertTrue(collector.take().isFullRedraw());
+  }
+
+  @Test
+  public void testMoveMarksOldAndNewLocation() {
+    DungeonGame g = TestDungeons.createGame(6, 8, 2, 1);
+    MapChangeCollector collector = new MapChangeCollector(6, 8);
+    g.addGameEventListener(collector);
+    TestDungeons.start(g);
+    collector.take();
+    String from = g.getPlayerLocation();
+    String move = g.getNextPossibleMoves(from).trim().split(" ")[0];
+    g.movePlayerTo(move);
+    assertEquals(Arrays.asList(from, g.getPlayerLocation()), collector.take().getLocations());
+    g.pickItemAtLocation("AllArrows", 0);
+    assertEquals(Collections.singletonList(g.getPlayerLocation()),
+            collector.take().getLocations());
+  }
+
+  @Test
+  public void testEveryChangedLocationIsReported() {
+    int rows = 7;
+    int cols = 9;
+    int kills = 0;
+    for (long seed = 1; seed <= 10; seed++) {
+      DungeonGame g = TestDungeons.createGame(rows, cols, 12, seed);
+      Randomizer r = new SplittableRandomizer(seed);
+      MapChangeCollector collector = new MapChangeCollector(rows, cols);
+      g.addGameEventListener(collector);
+      TestDungeons.start(g);
+      collector.take();
+      List<String> before = describe(g, rows, cols);
+      for (int i = 0; i < 80 && !g.isGameOver(); i++) {
+        int otyughs = g.getOtyughLocations().size();
+        g.performActions(Collections.singletonList(TestDungeons.nextAction(g, r, i)));
+        kills += otyughs - g.getOtyughLocations().size();
+        List<String> after = describe(g, rows, cols);
+        List<String> changed = collector.take().getLocations();
+        for (int cell = 0; cell < rows * cols; cell++) {
+          String loc = cell / cols + "-" + cell % cols;
+          if (!before.get(cell).equals(after.get(cell))) {
+            assertTrue(loc + " changed", changed.contains(loc));
+          }
+        }
+        before = after;
+      }
+    }
+    assertTrue(kills > 0);
+  }
+
+  private static List<String> describe(DungeonGame g, int rows, int cols) {
+    List<String> cells = new ArrayList<>();
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        String loc = row + "-" + col;
+        cells.add(g.getAllVisitedLocations().contains(loc) + " " + g.getLocationSmell(loc) + " "
+                + g.getAvailableItems(loc) + " " + g.getOtyughLocations().contains(loc) + " "
+                + g.getPlayerLocation().equals(loc));
+      }
+    }
+    return cells;
+  }
+
+  @Test
+  public void testTooManyChangesTurnIntoFullRedraw() {
+    MapChangeCollector collector = new MapChangeCollector(40, 40);
+    for (int i = 0; i < 40 * 40; i++) {
+      collector.onEvent(new GameEvent(GameEvent.Type.ITEMS_CHANGED, i / 40 + "-" + i % 40, null));
+    }
+    assertTrue(collector.take().isFullRedraw());
+    assertTrue(collector.take().getLocations().isEmpty());
+  }
+
+  @Test
+  public void testKillMarksLocationsAcrossTheEdges() {
+    MapChangeCollector collector = new MapChangeCollector(5, 6);
+    collector.onEvent(new GameEvent(GameEvent.Type.OTYUGH_KILLED, "0-0", null));
+    List<String> changed = collector.take().getLocations();
+    assertEquals(13, changed.size());
+    assertTrue(changed.containsAll(Arrays.asList("0-0", "3-0", "4-5", "0-4", "1-1", "2-0")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCollectorOfEmptyDungeon() {
+    new MapChangeCollector(0, 5);
+  }
+}
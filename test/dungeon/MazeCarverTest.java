@@ -0,0 +1,99 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import randoms.Randomizer;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class for testing that the maze carvers create identical mazes for the same random values.
+ */
+public class MazeCarverTest {
+
+  @Test
+  public void testSameMazeForNonWrapGrid() {
+    for (long seed = 0; seed < 20; seed++) {
+      assertSameMaze(6, 8, seed);
+    }
+  }
+
+  @Test
+  public void testSameDungeonForAllCarvers() {
+    int[][] dimensions = {{5, 5}, {5, 9}, {10, 7}};
+    for (int[] d : dimensions) {
+      for (long seed = 0; seed < 10; seed++) {
+        for (boolean isWrap : new boolean[]{false, true}) {
+          MasterDungeon expected = new MasterDungeon(d[0], d[1], 2, isWrap, 20,
+                  seededRandomizer(seed), 1, new SetListMazeCarver());
+          MasterDungeon actual = new MasterDungeon(d[0], d[1], 2, isWrap, 20,
+                  seededRandomizer(seed), 1, new UnionFindMazeCarver());
+          assertEquals(expected.getEdges().toString(), actual.getEdges().toString());
+          assertEquals(expected.getStartLocation(), actual.getStartLocation());
+          assertEquals(expected.getEndLocation(), actual.getEndLocation());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDisjointSet() {
+    DisjointSet s = new DisjointSet(5);
+    assertEquals(true, s.union(0, 1));
+    assertEquals(true, s.union(3, 4));
+    assertEquals(false, s.union(1, 0));
+    assertEquals(true, s.union(1, 4));
+    assertEquals(s.find(0), s.find(3));
+    assertEquals(false, s.find(2) == s.find(0));
+  }
+
+  private void assertSameMaze(int rowCount, int colCount, long seed) {
+    List<Edge> expectedMaze = new ArrayList<>();
+    List<Edge> expectedExtra = new ArrayList<>();
+    new SetListMazeCarver().carve(gridEdges(rowCount, colCount), rowCount * colCount,
+            seededRandomizer(seed), expectedMaze, expectedExtra, new GenerationProgress());
+
+    List<Edge> actualMaze = new ArrayList<>();
+    List<Edge> actualExtra = new ArrayList<>();
+    new UnionFindMazeCarver().carve(gridEdges(rowCount, colCount), rowCount * colCount,
+            seededRandomizer(seed), actualMaze, actualExtra, new GenerationProgress());
+
+    assertEquals(rowCount * colCount - 1, actualMaze.size());
+    assertEquals(expectedMaze.toString(), actualMaze.toString());
+    assertEquals(expectedExtra.toString(), actualExtra.toString());
+  }
+
+  private List<Edge> gridEdges(int rowCount, int colCount) {
+    List<Edge> edges = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      for (int j = 0; j < colCount - 1; j++) {
+        edges.add(new DungeonEdge(i * colCount + j, i * colCount + j + 1));
+      }
+    }
+    for (int i = 0; i < rowCount - 1; i++) {
+      for (int j = 0; j < colCount; j++) {
+        edges.add(new DungeonEdge(i * colCount + j, (i + 1) * colCount + j));
+      }
+    }
+    return edges;
+  }
+
+  private Randomizer seededRandomizer(long seed) {
+    Random random = new Random(seed);
+    return new Randomizer() {
+      @Override
+      public int getRandomInt(int minValue, int maxValue) {
+        return random.nextInt(maxValue - minValue) + minValue;
+      }
+
+      @Override
+      public void setDummyRandomValue(List<Integer> r) {
+        //not used in this test randomizer
+      }
+    };
+  }
+}
@@ -0,0 +1,79 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class for testing the registry of the monsters indexed by their location.
+ */
+public class MonsterRegistryTest {
+
+  @Test
+  public void testLookupByLocation() {
+    MonsterRegistry m = new MonsterRegistry(9);
+    m.add(4, 2);
+    assertTrue(m.contains(4));
+    assertFalse(m.contains(3));
+    assertFalse(m.contains(9));
+    assertEquals(2, m.getHealth(4));
+    assertEquals(0, m.getHealth(5));
+  }
+
+  @Test
+  public void testSnapshotRebuiltOnlyOnKill() {
+    MonsterRegistry m = new MonsterRegistry(9);
+    m.add(7, 2);
+    m.add(2, 2);
+    List<Integer> live = m.getLiveLocations();
+    assertEquals(Arrays.asList(7, 2), live);
+    assertEquals(1, m.strike(7));
+    assertSame(live, m.getLiveLocations());
+    assertEquals(0, m.strike(7));
+    assertEquals(Arrays.asList(2), m.getLiveLocations());
+    assertEquals(1, m.getLiveCount());
+    assertEquals(2, m.getMonsters().size());
+    assertEquals(0, m.getMonsters().get(0).getHealth());
+    assertEquals(-1, m.strike(0));
+  }
+
+  @Test
+  public void testCopyIsIndependent() {
+    MonsterRegistry m = new MonsterRegistry(4);
+    m.add(1, 2);
+    MonsterRegistry copy = new MonsterRegistry(m);
+    copy.strike(1);
+    assertEquals(2, m.getHealth(1));
+    assertEquals(1, copy.getHealth(1));
+    copy.strike(1);
+    assertEquals(Arrays.asList(1), m.getLiveLocations());
+    assertEquals(0, copy.getLiveLocations().size());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testMonstersCannotBeModified() {
+    MonsterRegistry m = new MonsterRegistry(4);
+    m.add(1, 2);
+    m.getMonsters().add(new Otyugh(2, 2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTwoMonstersAtSameLocation() {
+    MonsterRegistry m = new MonsterRegistry(4);
+    m.add(1, 2);
+    m.add(1, 2);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testSnapshotIsImmutable() {
+    MonsterRegistry m = new MonsterRegistry(4);
+    m.add(1, 2);
+    m.getLiveLocations().clear();
+  }
+}
@@ -0,0 +1,57 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import randoms.RandomGenerator;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class for testing that the smell map updated on every kill matches the smell map computed
+ * from scratch.
+ */
+public class SmellMapTest {
+
+  @Test
+  public void testIncrementalUpdateMatchesRebuild() {
+    for (boolean isWrap : new boolean[]{false, true}) {
+      for (int i = 0; i < 10; i++) {
+        MasterDungeon d = new MasterDungeon(7, 8, 4, isWrap, 20, new RandomGenerator(i), 12);
+        GridTopology t = d.getTopology();
+        SmellMap incremental = new SmellMap(t, d.getOtyughs());
+        List<Monster> alive = new ArrayList<>(d.getOtyughs());
+        while (!alive.isEmpty()) {
+          Monster killed = alive.remove(0);
+          incremental.removeOtyugh(killed.getLocation());
+          SmellMap rebuilt = new SmellMap(t, alive);
+          for (int cell = 0; cell < t.getCellCount(); cell++) {
+            assertEquals(rebuilt.getLevel(cell), incremental.getLevel(cell));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSmellLevels() {
+    //5 cells in a line with an otyugh at the east end
+    GridTopology t = new GridTopology(1, 5, false);
+    for (int cell = 0; cell < 4; cell++) {
+      t.openDoors(cell, Direction.E.getMask());
+      t.openDoors(cell + 1, Direction.W.getMask());
+    }
+    List<Monster> otyughs = new ArrayList<>();
+    otyughs.add(new Otyugh(4, 2));
+    SmellMap m = new SmellMap(t, otyughs);
+    assertEquals(SmellMap.NONE, m.getLevel(1));
+    assertEquals(SmellMap.BAD, m.getLevel(2));
+    assertEquals(SmellMap.TERRIBLE, m.getLevel(3));
+    assertEquals(SmellMap.NONE, m.getLevel(5));
+    m.removeOtyugh(4);
+    assertEquals(SmellMap.NONE, m.getLevel(2));
+    assertEquals(SmellMap.NONE, m.getLevel(3));
+  }
+}
@@ -0,0 +1,66 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Class for testing the images loaded once for the swing view.
+ */
+public class SpriteAtlasTest {
+
+  @Test
+  public void testTilesLookedUpByDoors() {
+    SpriteAtlas atlas = SpriteAtlas.getInstance();
+    assertSame(atlas, SpriteAtlas.getInstance());
+    assertEquals(Direction.N.getMask() | Direction.S.getMask() | Direction.E.getMask(),
+            SpriteAtlas.toDoors("N S E "));
+    assertEquals(0, SpriteAtlas.toDoors(""));
+    assertSame(atlas.getBlank(), atlas.getTile(0));
+    for (int doors = 1; doors < 16; doors++) {
+      assertEquals(atlas.getBlank().getWidth(), atlas.getTile(doors).getWidth());
+      assertEquals(atlas.getBlank().getHeight(), atlas.getTile(doors).getHeight());
+    }
+    assertEquals(8, atlas.getSprite(SpriteAtlas.Sprite.DIAMOND).getWidth());
+    assertEquals(6, atlas.getSprite(SpriteAtlas.Sprite.ARROW).getHeight());
+  }
+
+  @Test
+  public void testSpritesScaledAsBefore() throws IOException {
+    //the sprites match the images the view used to scale on every draw
+    assertSamePixels(scale("/otyugh.png", 30, 30),
+            SpriteAtlas.getInstance().getSprite(SpriteAtlas.Sprite.OTYUGH));
+    assertSamePixels(scale("/arrow-white.png", 12, 6),
+            SpriteAtlas.getInstance().getSprite(SpriteAtlas.Sprite.ARROW));
+    assertSamePixels(ImageIO.read(getClass().getResourceAsStream("/NSEW.png")),
+            SpriteAtlas.getInstance().getTile(15));
+  }
+
+  private BufferedImage scale(String path, int width, int height) throws IOException {
+    Image scaled = ImageIO.read(getClass().getResourceAsStream(path))
+            .getScaledInstance(width, height, Image.SCALE_SMOOTH);
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Graphics g = image.getGraphics();
+    g.drawImage(scaled, 0, 0, null);
+    g.dispose();
+    return image;
+  }
+
+  private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+}
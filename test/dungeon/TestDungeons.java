@@ -0,0 +1,124 @@
+package dungeon;
+
+import java.util.function.LongFunction;
+
+import randoms.Randomizer;
+import randoms.SplittableRandomizer;
+
+/**
+ * Helper methods shared by the tests that play generated games. The class is kept package
+ * private as it will be used only within the dungeon model package.
+ */
+final class TestDungeons {
+
+  private TestDungeons() {
+    //only static helpers
+  }
+
+  /**
+   * Creates a wrapping game with a degree of interconnectivity of 5 and treasure in 80% of the
+   * caves, from the first seed with which the start and end caves are far enough apart.
+   *
+   * @param rows      the no. of rows in the dungeon grid
+   * @param cols      the no. of columns in the dungeon grid
+   * @param otyughs   the no. of otyughs in the dungeon
+   * @param firstSeed the first seed to be tried
+   * @return the game, without a player
+   */
+  static DungeonGame createGame(int rows, int cols, int otyughs, long firstSeed) {
+    return createGame(rows, cols, true, 80, otyughs, firstSeed);
+  }
+
+  /**
+   * Creates a game with a degree of interconnectivity of 5, from the first seed with which the
+   * start and end caves are far enough apart.
+   *
+   * @param rows      the no. of rows in the dungeon grid
+   * @param cols      the no. of columns in the dungeon grid
+   * @param isWrap    true if the dungeon wraps around its edges
+   * @param percent   the percentage of caves with treasure
+   * @param otyughs   the no. of otyughs in the dungeon
+   * @param firstSeed the first seed to be tried
+   * @return the game, without a player
+   */
+  static DungeonGame createGame(int rows, int cols, boolean isWrap, int percent, int otyughs,
+                                long firstSeed) {
+    DungeonCache cache = new DungeonCache(0);
+    return retry(firstSeed, seed -> cache.createGame(rows, cols, 5, isWrap, percent, otyughs,
+            seed));
+  }
+
+  /**
+   * Creates a game with a degree of interconnectivity of 5 whose doors and items are kept in
+   * the given storage, from the first seed with which the start and end caves are far enough
+   * apart.
+   *
+   * @param rows      the no. of rows in the dungeon grid
+   * @param cols      the no. of columns in the dungeon grid
+   * @param isWrap    true if the dungeon wraps around its edges
+   * @param percent   the percentage of caves with treasure
+   * @param otyughs   the no. of otyughs in the dungeon
+   * @param firstSeed the first seed to be tried
+   * @param storage   the storage of the doors and items of the locations
+   * @return the game, without a player
+   */
+  static DungeonGame createGame(int rows, int cols, boolean isWrap, int percent, int otyughs,
+                                long firstSeed, CellStorage storage) {
+    return retry(firstSeed, seed -> new DungeonGame(rows, cols, 5, isWrap, percent,
+            new SplittableRandomizer(seed), otyughs, storage));
+  }
+
+  private static DungeonGame retry(long firstSeed, LongFunction<DungeonGame> create) {
+    for (long seed = firstSeed; ; seed++) {
+      try {
+        return create.apply(seed);
+      } catch (IllegalStateException e) {
+        //the start and end caves were too close, try the next seed
+      }
+    }
+  }
+
+  /**
+   * Adds a new player at the start of the game.
+   *
+   * @param g the game to be started
+   * @return the same game
+   */
+  static DungeonGame start(DungeonGame g) {
+    g.createPlayer();
+    g.addPlayerInDungeon();
+    return g;
+  }
+
+  /**
+   * Chooses the next action of a game played at random: an arrow shot at an otyugh in reach,
+   * so that some of them are killed, otherwise picking all the treasure, all the arrows or
+   * moving in turns.
+   *
+   * @param g    the game being played
+   * @param r    the randomizer choosing the moves
+   * @param step the no. of actions performed so far
+   * @return the next action
+   */
+  static GameAction nextAction(DungeonGame g, Randomizer r, int step) {
+    String[] moves = g.getNextPossibleMoves(g.getPlayerLocation()).trim().split(" ");
+    MasterDungeon d = g.getDungeon();
+    int cell = d.getTopology().toCell(g.getPlayerLocation());
+    for (String move : moves) {
+      for (int distance = 1; distance <= 3; distance++) {
+        Direction dir = Direction.valueOf(move);
+        int landing = d.getArrowLanding(cell, dir, distance);
+        if (d.getLiveOtyughLocations().contains(landing) && g.getPlayer().getArrowCount() > 0) {
+          return GameAction.shoot(dir, distance);
+        }
+      }
+    }
+    Direction dir = Direction.valueOf(moves[r.getRandomInt(0, moves.length)]);
+    if (step % 3 == 0) {
+      return GameAction.pickAll(GameAction.Item.ALL_TREASURE);
+    } else if (step % 3 == 1) {
+      return GameAction.pickAll(GameAction.Item.ALL_ARROWS);
+    }
+    return GameAction.move(dir);
+  }
+}
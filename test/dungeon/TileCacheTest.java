@@ -0,0 +1,71 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Class for testing the cache of the tiles drawn by the swing view.
+ */
+public class TileCacheTest {
+
+  @Test
+  public void testSameLookSharesTile() {
+    TileCache cache = new TileCache(SpriteAtlas.getInstance(), 8);
+    int key = TileCache.toKey(5, true, false, false, true, "Bad", true, false);
+    BufferedImage tile = cache.getTile(key);
+    assertSame(tile, cache.getTile(key));
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(0.5, cache.getHitRate(), 0);
+    //the smell is not drawn over an otyugh
+    assertEquals(TileCache.toKey(5, false, false, false, false, "", false, true),
+            TileCache.toKey(5, false, false, false, false, "Terrible", false, true));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedTileEvicted() {
+    TileCache cache = new TileCache(SpriteAtlas.getInstance(), 2);
+    BufferedImage first = cache.getTile(1);
+    cache.getTile(2);
+    cache.getTile(1);
+    cache.getTile(3);
+    assertEquals(2, cache.getCachedTileCount());
+    assertSame(first, cache.getTile(1));
+    cache.getTile(2);
+    assertEquals(4, cache.getMissCount());
+    cache.clear();
+    assertNotSame(first, cache.getTile(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoTilesCached() {
+    new TileCache(SpriteAtlas.getInstance(), 0);
+  }
+
+  @Test
+  public void testTileMatchesOverlaysDrawnInOrder() {
+    SpriteAtlas atlas = SpriteAtlas.getInstance();
+    int key = TileCache.toKey(15, true, true, true, true, "Terrible", true, false);
+    BufferedImage expected = atlas.createTileImage();
+    Graphics2D g = expected.createGraphics();
+    g.drawImage(atlas.getTile(15), 0, 0, null);
+    for (SpriteAtlas.Sprite sprite : new SpriteAtlas.Sprite[]{SpriteAtlas.Sprite.DIAMOND,
+        SpriteAtlas.Sprite.SAPPHIRE, SpriteAtlas.Sprite.RUBY, SpriteAtlas.Sprite.ARROW,
+        SpriteAtlas.Sprite.TERRIBLE_SMELL, SpriteAtlas.Sprite.PLAYER}) {
+      g.drawImage(atlas.getSprite(sprite), sprite.getX(), sprite.getY(), null);
+    }
+    g.dispose();
+    BufferedImage actual = new TileCache(atlas, 1).getTile(key);
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package simulation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class for testing the headless simulation of the games.
+ */
+public class SimulationRunnerTest {
+
+  @Test
+  public void testAllGamesAccountedFor() {
+    SimulationConfig config = new SimulationConfig(6, 6, 4, false, 40, 2, 41, 2000, 3, 7);
+    SimulationReport report = new SimulationRunner().run(config, HunterPolicy::new);
+    assertEquals(41, report.getGames());
+    assertEquals(41, report.getWins() + report.getDeaths() + report.getTimeouts()
+            + report.getGenerationFailures());
+    assertTrue(report.getSteps() > 0);
+    assertTrue(report.getStepLatencyPercentile(50) <= report.getStepLatencyPercentile(99));
+    assertTrue(report.getStepLatencyPercentile(99) <= report.getMaxStepLatency());
+  }
+
+  @Test
+  public void testSameSeedPlaysSameGames() {
+    SimulationConfig config = new SimulationConfig(5, 7, 2, true, 30, 1, 30, 500, 2, 11);
+    SimulationReport first = new SimulationRunner().run(config, GreedyTreasurePolicy::new);
+    SimulationReport second = new SimulationRunner().run(config, GreedyTreasurePolicy::new);
+    assertEquals(first.getWins(), second.getWins());
+    assertEquals(first.getDeaths(), second.getDeaths());
+    assertEquals(first.getSteps(), second.getSteps());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDungeon() {
+    SimulationConfig config = new SimulationConfig(2, 2, 0, false, 30, 1, 4, 100, 2, 1);
+    new SimulationRunner().run(config, RandomWalkPolicy::new);
+  }
+
+  @Test
+  public void testHistogramPercentiles() {
+    LatencyHistogram h = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      h.record(i);
+    }
+    assertEquals(1000, h.getTotalCount());
+    assertEquals(1000, h.getMax());
+    //the buckets are within 12.5% of the recorded values
+    assertTrue(Math.abs(h.getPercentile(50) - 500) <= 500 / 8);
+    assertTrue(Math.abs(h.getPercentile(99) - 990) <= 990 / 8);
+    assertEquals(1, h.getPercentile(0));
+  }
+}